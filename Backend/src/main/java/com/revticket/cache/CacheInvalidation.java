@@ -0,0 +1,7 @@
+package com.revticket.cache;
+
+/**
+ * An eviction broadcast to the other instances. A {@code null} key clears the whole cache.
+ */
+public record CacheInvalidation(String nodeId, String cacheName, String key) {
+}
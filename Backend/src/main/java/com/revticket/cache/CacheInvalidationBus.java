@@ -0,0 +1,14 @@
+package com.revticket.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Publish/subscribe channel carrying {@link CacheInvalidation}s between instances.
+ * Subscribers also receive their own node's messages and filter them by node id.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
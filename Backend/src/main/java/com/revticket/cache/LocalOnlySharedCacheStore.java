@@ -0,0 +1,27 @@
+package com.revticket.cache;
+
+import java.time.Duration;
+
+/**
+ * {@link SharedCacheStore} for single-instance runs. It holds nothing, so the bounded
+ * L1 is the only copy of each value; {@link TwoLevelCache} skips serialization for it.
+ */
+public class LocalOnlySharedCacheStore implements SharedCacheStore {
+
+    @Override
+    public byte[] get(String cacheName, String key) {
+        return null;
+    }
+
+    @Override
+    public void put(String cacheName, String key, byte[] value, Duration ttl) {
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+    }
+
+    @Override
+    public void clear(String cacheName) {
+    }
+}
@@ -0,0 +1,161 @@
+package com.revticket.cache;
+
+import com.mongodb.CursorType;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * {@link CacheInvalidationBus} over a capped {@code cache_invalidations} collection.
+ * Each instance tails the collection with a tailable cursor, which works on a
+ * standalone server where change streams are unavailable. After a reconnect the tail
+ * resumes from the last timestamp seen, so a message may be delivered twice; evictions
+ * are idempotent, so that is harmless.
+ *
+ * <p>Messages are written from a single background thread, in publish order, so
+ * callers such as transaction completion callbacks never wait on Mongo. A failed
+ * write is logged and dropped; other instances then catch up when their entry expires.
+ */
+public class MongoCacheInvalidationBus implements CacheInvalidationBus, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoCacheInvalidationBus.class);
+
+    private static final String COLLECTION = "cache_invalidations";
+    private static final long CAPPED_BYTES = 1024 * 1024;
+    private static final long RECONNECT_DELAY_MS = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    private final Thread tailer;
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean running = true;
+    private volatile Date resumeFrom = new Date();
+
+    public MongoCacheInvalidationBus(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        if (!mongoTemplate.collectionExists(COLLECTION)) {
+            try {
+                mongoTemplate.getDb().createCollection(COLLECTION,
+                        new CreateCollectionOptions().capped(true).sizeInBytes(CAPPED_BYTES));
+            } catch (Exception e) {
+                // Another instance created it first
+                logger.debug("Capped collection {} not created: {}", COLLECTION, e.getMessage());
+            }
+        }
+        // A tailable cursor on an empty capped collection is closed straight away
+        collection().insertOne(new Document("at", new Date()));
+
+        tailer = new Thread(this::tail, "cache-invalidation-tailer");
+        tailer.setDaemon(true);
+        tailer.start();
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        try {
+            publisher.execute(() -> write(invalidation));
+        } catch (Exception e) {
+            logger.warn("Cache invalidation for {} not published: {}", invalidation.cacheName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        tailer.interrupt();
+        publisher.shutdown();
+    }
+
+    private void write(CacheInvalidation invalidation) {
+        try {
+            collection().insertOne(new Document("at", new Date())
+                    .append("node", invalidation.nodeId())
+                    .append("cache", invalidation.cacheName())
+                    .append("key", invalidation.key()));
+        } catch (Exception e) {
+            logger.warn("Cache invalidation for {} not published: {}", invalidation.cacheName(), e.getMessage());
+        }
+    }
+
+    private void tail() {
+        while (running) {
+            try (MongoCursor<Document> cursor = collection()
+                    .find(Filters.gte("at", resumeFrom))
+                    .cursorType(CursorType.TailableAwait)
+                    .maxAwaitTime(1, TimeUnit.SECONDS)
+                    .iterator()) {
+                while (running) {
+                    Document document = cursor.tryNext();
+                    if (document == null) {
+                        if (cursor.getServerCursor() == null) {
+                            break;
+                        }
+                        continue;
+                    }
+                    resumeFrom = document.getDate("at");
+                    deliver(document);
+                }
+            } catch (Exception e) {
+                if (running) {
+                    logger.warn("Cache invalidation tail interrupted: {}", e.getMessage());
+                }
+            }
+            sleepBeforeReconnect();
+        }
+    }
+
+    private void deliver(Document document) {
+        String cacheName = document.getString("cache");
+        if (cacheName == null) {
+            return;
+        }
+        CacheInvalidation invalidation = new CacheInvalidation(
+                document.getString("node"), cacheName, document.getString("key"));
+        for (Consumer<CacheInvalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (Exception e) {
+                logger.error("Failed to apply cache invalidation for {}", cacheName, e);
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        if (!running) {
+            return;
+        }
+        try {
+            Thread.sleep(RECONNECT_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+}
@@ -0,0 +1,69 @@
+package com.revticket.cache;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SharedCacheStore} backed by the {@code cache_entries} collection. Expired
+ * documents are removed by a TTL index and ignored on read until then.
+ */
+public class MongoSharedCacheStore implements SharedCacheStore {
+
+    private static final String COLLECTION = "cache_entries";
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoSharedCacheStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        mongoTemplate.indexOps(COLLECTION)
+                .ensureIndex(new Index("expiresAt", Sort.Direction.ASC).expire(0, TimeUnit.SECONDS));
+        mongoTemplate.indexOps(COLLECTION)
+                .ensureIndex(new Index("cache", Sort.Direction.ASC));
+    }
+
+    @Override
+    public byte[] get(String cacheName, String key) {
+        Query query = new Query(Criteria.where("_id").is(id(cacheName, key))
+                .and("expiresAt").gt(new Date()));
+        Document document = mongoTemplate.findOne(query, Document.class, COLLECTION);
+        if (document == null) {
+            return null;
+        }
+        Binary value = document.get("value", Binary.class);
+        return value != null ? value.getData() : null;
+    }
+
+    @Override
+    public void put(String cacheName, String key, byte[] value, Duration ttl) {
+        Query query = new Query(Criteria.where("_id").is(id(cacheName, key)));
+        Update update = new Update()
+                .set("cache", cacheName)
+                .set("value", new Binary(value))
+                .set("expiresAt", new Date(System.currentTimeMillis() + ttl.toMillis()));
+        mongoTemplate.upsert(query, update, COLLECTION);
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(id(cacheName, key))), COLLECTION);
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        mongoTemplate.remove(new Query(Criteria.where("cache").is(cacheName)), COLLECTION);
+    }
+
+    private static String id(String cacheName, String key) {
+        return cacheName + ":" + key;
+    }
+}
@@ -0,0 +1,18 @@
+package com.revticket.cache;
+
+import java.time.Duration;
+
+/**
+ * Cache tier shared by every backend instance. Values are stored as serialized bytes
+ * under the cache name and the string form of the key.
+ */
+public interface SharedCacheStore {
+
+    byte[] get(String cacheName, String key);
+
+    void put(String cacheName, String key, byte[] value, Duration ttl);
+
+    void evict(String cacheName, String key);
+
+    void clear(String cacheName);
+}
@@ -0,0 +1,220 @@
+package com.revticket.cache;
+
+import org.hibernate.collection.spi.PersistentCollection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache with a bounded in-process L1 in front of a {@link SharedCacheStore}. Misses in
+ * L1 are filled from the shared tier before falling through to the caller. Evictions
+ * clear both tiers and are broadcast so other instances drop their L1 copies; puts
+ * are not broadcast since they cache what is already in the database. Values that
+ * cannot be serialized stay in L1 only, and shared entries are only deserialized into
+ * application, {@code java.lang}, {@code java.util} and {@code java.time} classes.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCache.class);
+
+    private static final ObjectInputFilter SHARED_VALUE_FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=20;maxrefs=100000;com.revticket.**;java.time.*;java.lang.*;java.util.*;!*");
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final SharedCacheStore sharedStore;
+    private final CacheInvalidationBus invalidationBus;
+    private final String nodeId;
+    private final Duration ttl;
+    private final boolean shared;
+    // Bumped by every eviction so a load that started before one does not repopulate L2
+    private final AtomicLong evictions = new AtomicLong();
+
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> local,
+                         SharedCacheStore sharedStore, CacheInvalidationBus invalidationBus,
+                         String nodeId, Duration ttl) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.sharedStore = sharedStore;
+        this.invalidationBus = invalidationBus;
+        this.nodeId = nodeId;
+        this.ttl = ttl;
+        this.shared = !(sharedStore instanceof LocalOnlySharedCacheStore);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = local.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        value = readShared(key);
+        if (value != null) {
+            local.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object[] stale = new Object[1];
+        Object value = local.get(key, k -> {
+            Object shared = readShared(k);
+            if (shared != null) {
+                return shared;
+            }
+            long generation = evictions.get();
+            Object loaded;
+            try {
+                loaded = toStoreValue(valueLoader.call());
+            } catch (Exception e) {
+                throw new ValueRetrievalException(k, valueLoader, e);
+            }
+            if (evictions.get() != generation) {
+                // Evicted while loading; serve this caller but cache nothing
+                stale[0] = loaded;
+                return null;
+            }
+            writeShared(k, loaded);
+            return loaded;
+        });
+        return (T) fromStoreValue(value != null ? value : stale[0]);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        local.put(key, storeValue);
+        writeShared(key, storeValue);
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictions.incrementAndGet();
+        local.invalidate(key);
+        sharedStore.evict(name, key.toString());
+        invalidationBus.publish(new CacheInvalidation(nodeId, name, key.toString()));
+    }
+
+    @Override
+    public void clear() {
+        evictions.incrementAndGet();
+        local.invalidateAll();
+        sharedStore.clear(name);
+        invalidationBus.publish(new CacheInvalidation(nodeId, name, null));
+    }
+
+    /**
+     * Applies an invalidation received from another instance to L1 only.
+     */
+    void invalidateLocal(String key) {
+        evictions.incrementAndGet();
+        if (key == null) {
+            local.invalidateAll();
+            return;
+        }
+        local.asMap().keySet().removeIf(existing -> existing.toString().equals(key));
+    }
+
+    private Object readShared(Object key) {
+        if (!shared) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = sharedStore.get(name, key.toString());
+        } catch (Exception e) {
+            logger.warn("Shared cache read failed for {}: {}", name, e.getMessage());
+            return null;
+        }
+        if (bytes == null) {
+            return null;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            in.setObjectInputFilter(SHARED_VALUE_FILTER);
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            logger.warn("Discarding unreadable shared cache entry in {}: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeShared(Object key, Object value) {
+        // Cached nulls stay in L1; NullValue is not on the read filter's allow-list
+        if (!shared || !(value instanceof Serializable) || value == NullValue.INSTANCE) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new DetachingObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            // e.g. a serializable list holding non-serializable elements
+            logger.debug("Keeping {} entry in L1 only: {}", name, e.getMessage());
+            return;
+        }
+        try {
+            sharedStore.put(name, key.toString(), bytes.toByteArray(), ttl);
+        } catch (Exception e) {
+            logger.warn("Shared cache write failed for {}: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes Hibernate collections as plain JDK collections so cached entities pass the
+     * read filter. Collections that were never loaded are written as {@code null}.
+     */
+    private static class DetachingObjectOutputStream extends ObjectOutputStream {
+
+        DetachingObjectOutputStream(ByteArrayOutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) {
+            if (!(obj instanceof PersistentCollection<?> collection)) {
+                return obj;
+            }
+            if (!collection.wasInitialized()) {
+                return null;
+            }
+            if (obj instanceof Map<?, ?> map) {
+                return new HashMap<>(map);
+            }
+            if (obj instanceof Set<?> set) {
+                return new LinkedHashSet<>(set);
+            }
+            return new ArrayList<>((Collection<?>) obj);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.revticket.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds a {@link TwoLevelCache} for each configured name over one shared store and
+ * invalidation bus, and applies invalidations published by other instances.
+ */
+public class TwoLevelCacheManager extends AbstractCacheManager {
+
+    private record Spec(Duration ttl, long maxSize) {
+    }
+
+    private final SharedCacheStore sharedStore;
+    private final CacheInvalidationBus invalidationBus;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Spec> specs = new LinkedHashMap<>();
+
+    public TwoLevelCacheManager(SharedCacheStore sharedStore, CacheInvalidationBus invalidationBus) {
+        this.sharedStore = sharedStore;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    public TwoLevelCacheManager withCache(String name, Duration ttl, long maxSize) {
+        specs.put(name, new Spec(ttl, maxSize));
+        return this;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>(specs.size());
+        specs.forEach((name, spec) -> caches.add(new TwoLevelCache(name,
+                Caffeine.newBuilder()
+                        .expireAfterWrite(spec.ttl())
+                        .maximumSize(spec.maxSize())
+                        .recordStats()
+                        .build(),
+                sharedStore, invalidationBus, nodeId, spec.ttl())));
+        return caches;
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.nodeId())) {
+            return;
+        }
+        Cache cache = lookupCache(invalidation.cacheName());
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.invalidateLocal(invalidation.key());
+        }
+    }
+}
@@ -1,17 +1,90 @@
 package com.revticket.config;
 
+import com.revticket.cache.CacheInvalidationBus;
+import com.revticket.cache.InMemoryCacheInvalidationBus;
+import com.revticket.cache.LocalOnlySharedCacheStore;
+import com.revticket.cache.MongoCacheInvalidationBus;
+import com.revticket.cache.MongoSharedCacheStore;
+import com.revticket.cache.SharedCacheStore;
+import com.revticket.cache.TwoLevelCache;
+import com.revticket.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
 
+import java.time.Duration;
+
+/**
+ * Two-level caches: a bounded Caffeine L1 per instance in front of a shared L2, with
+ * evictions broadcast to the other instances. {@code app.cache.shared.type=mongo}
+ * shares both through MongoDB; the default {@code memory} runs on L1 alone.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
-    
+
+    public static final String SETTINGS = "settings";
+    public static final String MOVIES = "movies";
+    public static final String THEATERS = "theaters";
+    public static final String LANGUAGES = "languages";
+    public static final String GENRES = "genres";
+    public static final String MOVIE_LANGUAGES = "movieLanguages";
+
+    @Value("${app.cache.catalog.ttl-seconds:300}")
+    private long catalogTtlSeconds;
+
+    @Value("${app.cache.catalog.max-size:500}")
+    private long catalogMaxSize;
+
+    @Value("${app.cache.settings.ttl-seconds:600}")
+    private long settingsTtlSeconds;
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.shared.type", havingValue = "memory", matchIfMissing = true)
+    public SharedCacheStore localOnlySharedCacheStore() {
+        return new LocalOnlySharedCacheStore();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.shared.type", havingValue = "memory", matchIfMissing = true)
+    public CacheInvalidationBus inMemoryCacheInvalidationBus() {
+        return new InMemoryCacheInvalidationBus();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.shared.type", havingValue = "mongo")
+    public SharedCacheStore mongoSharedCacheStore(MongoTemplate mongoTemplate) {
+        return new MongoSharedCacheStore(mongoTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.shared.type", havingValue = "mongo")
+    public CacheInvalidationBus mongoCacheInvalidationBus(MongoTemplate mongoTemplate) {
+        return new MongoCacheInvalidationBus(mongoTemplate);
+    }
+
+    @Bean
+    public CacheManager cacheManager(SharedCacheStore sharedCacheStore, CacheInvalidationBus cacheInvalidationBus) {
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(sharedCacheStore, cacheInvalidationBus)
+                .withCache(SETTINGS, Duration.ofSeconds(settingsTtlSeconds), 10);
+        for (String name : new String[] { MOVIES, THEATERS, LANGUAGES, GENRES, MOVIE_LANGUAGES }) {
+            cacheManager.withCache(name, Duration.ofSeconds(catalogTtlSeconds), catalogMaxSize);
+        }
+        cacheManager.initializeCaches();
+        // Evictions from @Transactional methods are applied after commit
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    // Publishes hit/miss/eviction metrics of the L1 tier
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("settings");
+    public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getNativeCache(), cache.getName(), tags);
     }
 }
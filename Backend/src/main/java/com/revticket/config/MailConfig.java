@@ -0,0 +1,53 @@
+package com.revticket.config;
+
+import com.revticket.mail.PooledJavaMailSender;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Properties;
+
+/**
+ * Replaces Boot's default mail sender with one that reuses SMTP connections, built
+ * from the same {@code spring.mail.*} properties.
+ */
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+public class MailConfig {
+
+    @Value("${app.mail.pool.max-connections:3}")
+    private int maxConnections;
+
+    @Value("${app.mail.pool.max-idle-seconds:60}")
+    private long maxIdleSeconds;
+
+    @Value("${app.mail.pool.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection;
+
+    @Value("${app.mail.pool.acquire-timeout-ms:10000}")
+    private long acquireTimeoutMs;
+
+    @Bean
+    public PooledJavaMailSender mailSender(MailProperties properties) {
+        PooledJavaMailSender sender = new PooledJavaMailSender(
+                maxConnections, maxIdleSeconds * 1000, maxMessagesPerConnection, acquireTimeoutMs);
+        sender.setHost(properties.getHost());
+        if (properties.getPort() != null) {
+            sender.setPort(properties.getPort());
+        }
+        sender.setUsername(properties.getUsername());
+        sender.setPassword(properties.getPassword());
+        sender.setProtocol(properties.getProtocol());
+        if (properties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(properties.getDefaultEncoding().name());
+        }
+        if (!properties.getProperties().isEmpty()) {
+            Properties javaMailProperties = new Properties();
+            javaMailProperties.putAll(properties.getProperties());
+            sender.setJavaMailProperties(javaMailProperties);
+        }
+        return sender;
+    }
+}
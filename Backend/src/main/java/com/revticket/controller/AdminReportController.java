@@ -1,9 +1,17 @@
 package com.revticket.controller;
 
 import com.revticket.dto.*;
+import com.revticket.reporting.ReportArtifact;
+import com.revticket.reporting.ReportJob;
+import com.revticket.reporting.ReportJobService;
+import com.revticket.search.BookingSearchIndex;
+import com.revticket.service.BookingExportService;
 import com.revticket.service.BookingReportService;
 import com.revticket.service.BookingService;
+import com.revticket.service.BookingStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
@@ -11,10 +19,12 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/admin/reports")
@@ -28,6 +38,18 @@ public class AdminReportController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingStatsService bookingStatsService;
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private BookingSearchIndex bookingSearchIndex;
+
     @GetMapping("/summary")
     public ResponseEntity<BookingReportSummary> getSummary(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
@@ -35,13 +57,42 @@ public class AdminReportController {
         return ResponseEntity.ok(reportService.getSummary(fromDate, toDate));
     }
 
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        int rows = bookingStatsService.rebuild(fromDate, toDate);
+        return ResponseEntity.ok(Map.of("fromDate", fromDate, "toDate", toDate, "rows", rows));
+    }
+
+    @PostMapping("/search-index")
+    public ResponseEntity<Map<String, Object>> buildSearchIndex() {
+        boolean started = bookingSearchIndex.buildInBackground();
+        return ResponseEntity.accepted().body(Map.of(
+                "started", started,
+                "building", bookingSearchIndex.isBuilding(),
+                "available", bookingSearchIndex.isAvailable()));
+    }
+
     @GetMapping("/revenue-trend")
     public ResponseEntity<List<RevenueTrendDTO>> getRevenueTrend(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(defaultValue = "rollup") String source) {
+        if ("bookings".equalsIgnoreCase(source)) {
+            return ResponseEntity.ok(reportService.getLiveRevenueTrend(fromDate, toDate));
+        }
         return ResponseEntity.ok(reportService.getRevenueTrend(fromDate, toDate));
     }
 
+    @GetMapping("/revenue-breakdown")
+    public ResponseEntity<List<RevenueBreakdownDTO>> getRevenueBreakdown(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(defaultValue = "theater") String groupBy) {
+        return ResponseEntity.ok(reportService.getRevenueBreakdown(fromDate, toDate, groupBy));
+    }
+
     @GetMapping("/bookings")
     public ResponseEntity<Page<BookingResponse>> getFilteredBookings(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
@@ -74,14 +125,28 @@ public class AdminReportController {
     }
 
     @GetMapping("/export/csv")
-    public ResponseEntity<String> exportCSV(
+    public ResponseEntity<StreamingResponseBody> exportCSV(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
             @RequestParam(required = false) String theaterId,
             @RequestParam(required = false) String movieId,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) String searchTerm) {
-        
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return export(fromDate, toDate, theaterId, movieId, status, searchTerm, "csv", gzip);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String theaterId,
+            @RequestParam(required = false) String movieId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
         BookingReportFilter filter = new BookingReportFilter();
         filter.setFromDate(fromDate);
         filter.setToDate(toDate);
@@ -89,39 +154,90 @@ public class AdminReportController {
         filter.setMovieId(movieId);
         filter.setStatus(status);
         filter.setSearchTerm(searchTerm);
-        filter.setPage(0);
-        filter.setSize(10000);
 
-        Page<BookingResponse> bookings = reportService.getFilteredBookings(filter);
-        
-        StringBuilder csv = new StringBuilder();
-        csv.append("Booking ID,Customer Name,Email,Phone,Movie,Theater,Screen,Show Date,Seats,Amount,Status,Booking Date\n");
-        
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-        
-        bookings.getContent().forEach(booking -> {
-            csv.append(String.format("\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",%.2f,\"%s\",\"%s\"\n",
-                booking.getId(),
-                booking.getCustomerName(),
-                booking.getCustomerEmail(),
-                booking.getCustomerPhone(),
-                booking.getMovieTitle(),
-                booking.getTheaterName(),
-                booking.getScreen(),
-                booking.getShowtime().format(formatter),
-                String.join("; ", booking.getSeats()),
-                booking.getTotalAmount(),
-                booking.getStatus(),
-                booking.getBookingDate().format(formatter)
-            ));
-        });
+        BookingExportService.Format exportFormat;
+        try {
+            exportFormat = BookingExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported export format: " + format);
+        }
 
+        String filename = "bookings-report." + exportFormat.name().toLowerCase() + (gzip ? ".gz" : "");
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
-        headers.setContentDispositionFormData("attachment", "bookings-report.csv");
+        if (gzip) {
+            headers.setContentType(MediaType.parseMediaType("application/gzip"));
+        } else if (exportFormat == BookingExportService.Format.NDJSON) {
+            headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        } else {
+            headers.setContentType(MediaType.parseMediaType("text/csv"));
+        }
+        headers.setContentDispositionFormData("attachment", filename);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                bookingExportService.export(filter, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                bookingExportService.export(filter, exportFormat, out);
+            }
+        };
 
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(csv.toString());
+                .body(body);
+    }
+
+    @PostMapping("/jobs")
+    public ResponseEntity<ReportJobResponse> submitJob(@RequestBody ReportJobRequest request) {
+        ReportJob job = reportJobService.submit(request);
+        return ResponseEntity.accepted().body(toResponse(job));
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ReportJobResponse> getJob(@PathVariable String id) {
+        return reportJobService.getJob(id)
+                .map(job -> ResponseEntity.ok(toResponse(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/jobs/{id}/download")
+    public ResponseEntity<Resource> downloadJob(@PathVariable String id) {
+        ReportJob job = reportJobService.getJob(id).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.getState() != ReportJob.State.SUCCEEDED) {
+            throw new RuntimeException("Report is not ready: " + job.getState());
+        }
+        ReportArtifact artifact = reportJobService.getArtifact(job)
+                .orElseThrow(() -> new RuntimeException("Report has expired, submit it again"));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(artifact.contentType()));
+        headers.setContentDispositionFormData("attachment", artifact.filename());
+        headers.setContentLength(artifact.size());
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(new FileSystemResource(artifact.path()));
+    }
+
+    private ReportJobResponse toResponse(ReportJob job) {
+        return ReportJobResponse.builder()
+                .id(job.getId())
+                .type(job.getType().name())
+                .state(job.getState().name())
+                .progress(job.progress())
+                .rowsWritten(job.getType() == ReportJob.Type.EXPORT ? job.getRowsWritten() : null)
+                .totalRows(job.getTotalRows() >= 0 ? job.getTotalRows() : null)
+                .cached(job.isCached())
+                .error(job.getError())
+                .downloadUrl(job.getState() == ReportJob.State.SUCCEEDED
+                        ? "/api/admin/reports/jobs/" + job.getId() + "/download" : null)
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
     }
 }
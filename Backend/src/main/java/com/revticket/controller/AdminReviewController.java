@@ -2,6 +2,7 @@ package com.revticket.controller;
 
 import com.revticket.dto.ApiResponse;
 import com.revticket.dto.ReviewResponse;
+import com.revticket.service.MovieRatingService;
 import com.revticket.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +20,9 @@ public class AdminReviewController {
     @Autowired
     private ReviewService reviewService;
 
+    @Autowired
+    private MovieRatingService movieRatingService;
+
     @GetMapping("/pending")
     public ResponseEntity<ApiResponse<List<ReviewResponse>>> getPendingReviews() {
         List<ReviewResponse> reviews = reviewService.getAllPendingReviews();
@@ -48,4 +52,10 @@ public class AdminReviewController {
         reviewService.deleteReview(reviewId);
         return ResponseEntity.ok(new ApiResponse<>(true, null, "Review deleted"));
     }
+
+    @PostMapping("/ratings/rebuild")
+    public ResponseEntity<ApiResponse<Void>> rebuildRatings() {
+        movieRatingService.rebuild();
+        return ResponseEntity.ok(new ApiResponse<>(true, null, "Movie ratings rebuilt"));
+    }
 }
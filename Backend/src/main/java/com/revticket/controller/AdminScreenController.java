@@ -6,6 +6,8 @@ import com.revticket.entity.SeatCategory;
 import com.revticket.entity.SeatData;
 import com.revticket.entity.Theater;
 import com.revticket.repository.*;
+import com.revticket.seating.ScreenLayoutCache;
+import com.revticket.seating.SeatBatchWriter;
 import com.revticket.service.ScreenService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +15,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -37,6 +40,12 @@ public class AdminScreenController {
     @Autowired
     private TheaterRepository theaterRepository;
 
+    @Autowired
+    private ScreenLayoutCache screenLayoutCache;
+
+    @Autowired
+    private SeatBatchWriter seatBatchWriter;
+
     @GetMapping
     public ResponseEntity<List<ScreenResponse>> getScreens(
             @RequestParam(name = "theatreId", required = false) String theatreId,
@@ -78,7 +87,7 @@ public class AdminScreenController {
                 .map(c -> new CategoryDTO(c.getId(), c.getName(), c.getPrice(), c.getColor()))
                 .collect(Collectors.toList()) : new java.util.ArrayList<>());
         config.setSeatMap(seatData != null ? seatData.stream()
-                .map(s -> new SeatDataDTO(s.getSeatId(), s.getLabel(), s.getRow(), s.getCol(), s.getCategoryId(), s.getStatus()))
+                .map(s -> new SeatDataDTO(SeatBatchWriter.clientSeatId(id, s.getSeatId()), s.getLabel(), s.getRow(), s.getCol(), s.getCategoryId(), s.getStatus()))
                 .collect(Collectors.toList()) : new java.util.ArrayList<>());
 
         return ResponseEntity.ok(config);
@@ -106,6 +115,7 @@ public class AdminScreenController {
 
             // Save categories
             if (request.getCategories() != null) {
+                List<SeatCategory> categories = new ArrayList<>(request.getCategories().size());
                 for (CategoryDTO catDTO : request.getCategories()) {
                     SeatCategory cat = new SeatCategory();
                     cat.setId(catDTO.getId());
@@ -113,12 +123,14 @@ public class AdminScreenController {
                     cat.setPrice(catDTO.getPrice());
                     cat.setColor(catDTO.getColor());
                     cat.setScreen(saved);
-                    seatCategoryRepository.save(cat);
+                    categories.add(cat);
                 }
+                seatCategoryRepository.saveAll(categories);
             }
 
             // Save seat map
             if (request.getSeatMap() != null) {
+                List<SeatData> seats = new ArrayList<>(request.getSeatMap().size());
                 for (SeatDataDTO seatDTO : request.getSeatMap()) {
                     SeatData seat = new SeatData();
                     seat.setSeatId(seatDTO.getSeatId());
@@ -127,9 +139,9 @@ public class AdminScreenController {
                     seat.setCol(seatDTO.getCol());
                     seat.setCategoryId(seatDTO.getCategoryId());
                     seat.setStatus(seatDTO.getStatus());
-                    seat.setScreen(saved);
-                    seatDataRepository.save(seat);
+                    seats.add(seat);
                 }
+                seatBatchWriter.insertSeatData(saved.getId(), seats);
             }
 
             request.setId(saved.getId());
@@ -160,6 +172,7 @@ public class AdminScreenController {
 
             // Save new categories
             if (request.getCategories() != null) {
+                List<SeatCategory> categories = new ArrayList<>(request.getCategories().size());
                 for (CategoryDTO catDTO : request.getCategories()) {
                     SeatCategory cat = new SeatCategory();
                     cat.setId(catDTO.getId());
@@ -167,12 +180,14 @@ public class AdminScreenController {
                     cat.setPrice(catDTO.getPrice());
                     cat.setColor(catDTO.getColor());
                     cat.setScreen(updated);
-                    seatCategoryRepository.save(cat);
+                    categories.add(cat);
                 }
+                seatCategoryRepository.saveAll(categories);
             }
 
             // Save new seat map
             if (request.getSeatMap() != null) {
+                List<SeatData> seats = new ArrayList<>(request.getSeatMap().size());
                 for (SeatDataDTO seatDTO : request.getSeatMap()) {
                     SeatData seat = new SeatData();
                     seat.setSeatId(seatDTO.getSeatId());
@@ -181,11 +196,13 @@ public class AdminScreenController {
                     seat.setCol(seatDTO.getCol());
                     seat.setCategoryId(seatDTO.getCategoryId());
                     seat.setStatus(seatDTO.getStatus());
-                    seat.setScreen(updated);
-                    seatDataRepository.save(seat);
+                    seats.add(seat);
                 }
+                seatBatchWriter.insertSeatData(updated.getId(), seats);
             }
 
+            screenLayoutCache.invalidate(id);
+
             request.setId(updated.getId());
             return ResponseEntity.ok(request);
         } catch (Exception e) {
@@ -199,6 +216,7 @@ public class AdminScreenController {
         seatCategoryRepository.deleteByScreenId(id);
         seatDataRepository.deleteByScreenId(id);
         screenRepository.deleteById(id);
+        screenLayoutCache.invalidate(id);
         return ResponseEntity.noContent().build();
     }
 }
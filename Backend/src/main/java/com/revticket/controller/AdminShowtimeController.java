@@ -1,5 +1,8 @@
 package com.revticket.controller;
 
+import com.revticket.dto.BulkShowtimeRequest;
+import com.revticket.dto.ConflictCheckRequest;
+import com.revticket.dto.ConflictCheckResult;
 import com.revticket.dto.ShowtimeRequest;
 import com.revticket.dto.ShowtimeResponse;
 import com.revticket.service.ShowtimeService;
@@ -46,6 +49,11 @@ public class AdminShowtimeController {
         return ResponseEntity.ok(showtimeService.createShowtime(request));
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<ShowtimeResponse>> createShowtimesBulk(@Valid @RequestBody BulkShowtimeRequest request) {
+        return ResponseEntity.ok(showtimeService.createShowtimesBulk(request));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ShowtimeResponse> updateShowtime(
             @PathVariable String id,
@@ -68,10 +76,16 @@ public class AdminShowtimeController {
     public ResponseEntity<Map<String, Boolean>> checkConflict(
             @RequestParam String screenId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime showDateTime,
-            @RequestParam(required = false) String excludeShowId) {
-        boolean conflict = showtimeService.checkShowtimeConflict(screenId, showDateTime, excludeShowId);
+            @RequestParam(required = false) String excludeShowId,
+            @RequestParam(required = false) String movieId) {
+        boolean conflict = showtimeService.checkShowtimeConflict(screenId, showDateTime, excludeShowId, movieId);
         Map<String, Boolean> response = new HashMap<>();
         response.put("conflict", conflict);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/check-conflicts")
+    public ResponseEntity<List<ConflictCheckResult>> checkConflicts(@Valid @RequestBody List<ConflictCheckRequest> requests) {
+        return ResponseEntity.ok(showtimeService.checkShowtimeConflicts(requests));
+    }
 }
@@ -2,7 +2,9 @@ package com.revticket.controller;
 
 import com.revticket.dto.BookingRequest;
 import com.revticket.dto.BookingResponse;
+import com.revticket.dto.BookingSummaryView;
 import com.revticket.dto.CancellationRequest;
+import com.revticket.dto.CursorPage;
 import com.revticket.service.BookingService;
 import com.revticket.util.SecurityUtil;
 import jakarta.validation.Valid;
@@ -39,6 +41,24 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getUserBookings(userId));
     }
 
+    @GetMapping("/my-bookings/page")
+    public ResponseEntity<CursorPage<BookingResponse>> getMyBookingsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        String userId = securityUtil.getCurrentUserId(authentication);
+        return ResponseEntity.ok(bookingService.getUserBookingsPage(userId, cursor, size));
+    }
+
+    @GetMapping("/my-bookings/summary")
+    public ResponseEntity<CursorPage<BookingSummaryView>> getMyBookingSummaries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        String userId = securityUtil.getCurrentUserId(authentication);
+        return ResponseEntity.ok(bookingService.getUserBookingSummaries(userId, cursor, size));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BookingResponse> getBookingById(@PathVariable("id") String id) {
         return bookingService.getBookingById(id)
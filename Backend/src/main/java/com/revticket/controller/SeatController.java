@@ -1,10 +1,17 @@
 package com.revticket.controller;
 
-import com.revticket.entity.Seat;
+import com.revticket.dto.SeatIdMap;
+import com.revticket.dto.SeatLayoutDescriptor;
+import com.revticket.dto.SeatMapSnapshot;
+import com.revticket.seating.PackedSeatStates;
 import com.revticket.service.SeatService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -18,8 +25,56 @@ public class SeatController {
     private SeatService seatService;
 
     @GetMapping("/showtime/{showtimeId}")
-    public ResponseEntity<List<Seat>> getSeatsByShowtime(@PathVariable("showtimeId") String showtimeId) {
-        return ResponseEntity.ok(seatService.getSeatsByShowtime(showtimeId));
+    public ResponseEntity<?> getSeatsByShowtime(@PathVariable("showtimeId") String showtimeId,
+                                                @RequestParam(value = "format", required = false) String format,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        boolean packed = "packed".equalsIgnoreCase(format)
+                || (accept != null && accept.contains(MediaType.APPLICATION_OCTET_STREAM_VALUE));
+        if (!packed) {
+            return ResponseEntity.ok(seatService.getSeatsByShowtime(showtimeId));
+        }
+
+        PackedSeatStates states = seatService.getPackedSeatStates(showtimeId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header("X-Seat-Map-Version", String.valueOf(states.version()))
+                .header("X-Seat-Layout-Version", states.layoutVersion())
+                .header("X-Seat-Count", String.valueOf(states.seatCount()))
+                .body(states.states());
+    }
+
+    @GetMapping("/showtime/{showtimeId}/layout")
+    public ResponseEntity<SeatLayoutDescriptor> getSeatLayout(@PathVariable("showtimeId") String showtimeId,
+                                                              WebRequest request) {
+        SeatLayoutDescriptor layout = seatService.getSeatLayout(showtimeId);
+        // Same tag for every showtime on the screen, so clients revalidate one cached copy
+        String etag = "\"" + layout.getScreenId() + ":" + layout.getLayoutVersion() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(layout);
+    }
+
+    @GetMapping("/showtime/{showtimeId}/seat-ids")
+    public ResponseEntity<SeatIdMap> getSeatIds(@PathVariable("showtimeId") String showtimeId,
+                                                WebRequest request) {
+        SeatIdMap seatIds = seatService.getSeatIds(showtimeId);
+        String etag = "\"" + seatIds.getSeatIdsVersion() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(seatIds);
+    }
+
+    @GetMapping("/showtime/{showtimeId}/snapshot")
+    public ResponseEntity<SeatMapSnapshot> getSeatSnapshot(@PathVariable("showtimeId") String showtimeId) {
+        return ResponseEntity.ok(seatService.getSeatSnapshot(showtimeId));
     }
 
     @PostMapping("/showtime/{showtimeId}/initialize")
@@ -0,0 +1,37 @@
+package com.revticket.dto;
+
+import com.revticket.entity.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * The scalar columns of a {@link BookingResponse}, selected in one query with the screen
+ * name and ticket price already resolved. Seat ids and labels are loaded separately in
+ * a batch per page.
+ */
+public record BookingRow(
+        String id,
+        String userId,
+        String movieId,
+        String movieTitle,
+        String moviePosterUrl,
+        String theaterId,
+        String theaterName,
+        String theaterLocation,
+        String showtimeId,
+        LocalDateTime showtime,
+        String screen,
+        Double ticketPrice,
+        Double totalAmount,
+        LocalDateTime bookingDate,
+        Booking.BookingStatus status,
+        String customerName,
+        String customerEmail,
+        String customerPhone,
+        String paymentId,
+        String qrCode,
+        String ticketNumber,
+        Double refundAmount,
+        LocalDateTime refundDate,
+        String cancellationReason) {
+}
@@ -0,0 +1,23 @@
+package com.revticket.dto;
+
+import com.revticket.entity.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight row for booking history lists, selected column by column so no showtime,
+ * movie or theater entities are loaded.
+ */
+public record BookingSummaryView(
+        String id,
+        String ticketNumber,
+        String movieTitle,
+        String moviePosterUrl,
+        String theaterName,
+        LocalDateTime showtime,
+        String screen,
+        Integer seatCount,
+        Double totalAmount,
+        Booking.BookingStatus status,
+        LocalDateTime bookingDate) {
+}
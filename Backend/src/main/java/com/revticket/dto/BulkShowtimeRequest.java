@@ -0,0 +1,44 @@
+package com.revticket.dto;
+
+import com.revticket.entity.Showtime;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+public class BulkShowtimeRequest {
+
+    @NotBlank
+    private String movieId;
+
+    @NotBlank
+    private String theaterId;
+
+    @NotEmpty
+    private List<String> screens;
+
+    @NotNull
+    private LocalDate startDate;
+
+    @NotNull
+    private LocalDate endDate;
+
+    // Empty means every day in the range
+    private List<DayOfWeek> daysOfWeek;
+
+    @NotEmpty
+    private List<LocalTime> timeSlots;
+
+    @NotNull
+    @Positive
+    private Double ticketPrice;
+
+    private Showtime.ShowStatus status = Showtime.ShowStatus.ACTIVE;
+}
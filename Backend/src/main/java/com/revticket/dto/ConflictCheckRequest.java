@@ -0,0 +1,21 @@
+package com.revticket.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ConflictCheckRequest {
+
+    @NotBlank
+    private String screenId;
+
+    @NotNull
+    private LocalDateTime showDateTime;
+
+    private String movieId;
+
+    private String excludeShowId;
+}
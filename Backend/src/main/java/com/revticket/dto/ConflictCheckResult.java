@@ -0,0 +1,16 @@
+package com.revticket.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Value
+@Builder
+public class ConflictCheckResult {
+    String screenId;
+    LocalDateTime showDateTime;
+    boolean conflict;
+    List<String> conflictingShowtimeIds;
+}
@@ -0,0 +1,18 @@
+package com.revticket.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as the
+ * {@code cursor} parameter to fetch the following page; it is null on the last page.
+ */
+@Value
+@Builder
+public class CursorPage<T> {
+    List<T> items;
+    String nextCursor;
+    boolean hasMore;
+}
@@ -0,0 +1,18 @@
+package com.revticket.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class ReportJobRequest {
+    private String type;
+    private String format = "csv";
+    private Boolean gzip = false;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private String theaterId;
+    private String movieId;
+    private String status;
+    private String searchTerm;
+}
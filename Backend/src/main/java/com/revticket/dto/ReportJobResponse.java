@@ -0,0 +1,23 @@
+package com.revticket.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+@Builder
+public class ReportJobResponse {
+    String id;
+    String type;
+    String state;
+    Double progress;
+    Long rowsWritten;
+    Long totalRows;
+    boolean cached;
+    String error;
+    String downloadUrl;
+    Instant submittedAt;
+    Instant startedAt;
+    Instant finishedAt;
+}
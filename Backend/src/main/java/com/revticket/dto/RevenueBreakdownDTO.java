@@ -0,0 +1,15 @@
+package com.revticket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueBreakdownDTO {
+    private String key;
+    private String label;
+    private Double revenue;
+    private Long bookings;
+}
@@ -0,0 +1,19 @@
+package com.revticket.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Seat ids of one showtime by position: seat {@code i} of the
+ * {@link SeatLayoutDescriptor} with the same layout version has id {@code seatIds[i]}.
+ */
+@Value
+@Builder
+public class SeatIdMap {
+    String showtimeId;
+    String layoutVersion;
+    String seatIdsVersion;
+    List<String> seatIds;
+}
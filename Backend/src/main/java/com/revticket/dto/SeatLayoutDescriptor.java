@@ -0,0 +1,31 @@
+package com.revticket.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Static part of a seat map in columnar form: seat {@code i} has row label
+ * {@code rows[seatRows[i]]}, number {@code seatNumbers[i]} and category
+ * {@code categories[seatCategories[i]]}. Seat order matches the packed state array.
+ * The descriptor holds no per-showtime data, so every showtime on a screen with the
+ * same configuration shares it; seat ids come from {@link SeatIdMap}.
+ */
+@Value
+@Builder
+public class SeatLayoutDescriptor {
+    String screenId;
+    String layoutVersion;
+    List<String> rows;
+    List<Category> categories;
+    int[] seatRows;
+    int[] seatNumbers;
+    int[] seatCategories;
+
+    @Value
+    public static class Category {
+        String type;
+        Double price;
+    }
+}
@@ -0,0 +1,15 @@
+package com.revticket.dto;
+
+import com.revticket.entity.Seat;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class SeatMapSnapshot {
+    String showtimeId;
+    long version;
+    List<Seat> seats;
+}
@@ -4,10 +4,12 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class SettingsDTO {
+public class SettingsDTO implements Serializable {
     private String siteName;
     private String siteEmail;
     private String sitePhone;
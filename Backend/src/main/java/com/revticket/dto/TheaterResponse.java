@@ -2,11 +2,13 @@ package com.revticket.dto;
 
 import lombok.Builder;
 import lombok.Value;
+
+import java.io.Serializable;
 import java.util.List;
 
 @Value
 @Builder
-public class TheaterResponse {
+public class TheaterResponse implements Serializable {
     String id;
     String name;
     String location;
@@ -13,7 +13,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_user_date", columnList = "user_id, booking_date, id"),
+        @Index(name = "idx_bookings_date", columnList = "booking_date, showtime_id, status, total_amount"),
+        @Index(name = "idx_bookings_ticket_number", columnList = "ticket_number"),
+        @Index(name = "idx_bookings_customer_email", columnList = "customer_email")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
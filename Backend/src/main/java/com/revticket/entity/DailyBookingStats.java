@@ -0,0 +1,56 @@
+package com.revticket.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Per day, theater and movie totals of the bookings made that day. Rows are adjusted
+ * in the same transaction as each booking change and can be rebuilt from the bookings
+ * table.
+ */
+@Entity
+@Table(name = "daily_booking_stats")
+@IdClass(DailyBookingStats.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyBookingStats {
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Id
+    @Column(name = "theater_id", length = 36)
+    private String theaterId;
+
+    @Id
+    @Column(name = "movie_id", length = 36)
+    private String movieId;
+
+    @Column(nullable = false)
+    private Long bookings = 0L;
+
+    // Total amount of bookings currently CONFIRMED
+    @Column(nullable = false)
+    private Double revenue = 0.0;
+
+    @Column(nullable = false)
+    private Long cancellations = 0L;
+
+    @Column(nullable = false)
+    private Double refunds = 0.0;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate statDate;
+        private String theaterId;
+        private String movieId;
+    }
+}
@@ -5,12 +5,14 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
+
 @Entity
 @Table(name = "languages")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Language {
+public class Language implements Serializable {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
@@ -0,0 +1,30 @@
+package com.revticket.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running totals of approved review ratings for a movie. {@code histogram} maps a star
+ * value ("1" to "5") to the number of approved reviews with that rating.
+ */
+@Document(collection = "movie_ratings")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieRating {
+    @Id
+    private String movieId;
+    private long count;
+    private long sum;
+    private Map<String, Long> histogram = new HashMap<>();
+
+    public Double getAverage() {
+        return count > 0 ? (double) sum / count : null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.revticket.mail;
+
+import com.revticket.entity.Booking;
+
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Flat, detached copy of the booking fields the email templates use. Built while the
+ * booking's transaction is still open, so rendering never touches lazy associations.
+ */
+public record BookingEmailView(
+        String ticketNumber,
+        String customerName,
+        String customerEmail,
+        String movieTitle,
+        String theaterName,
+        String screenName,
+        String showtime,
+        String seats,
+        String totalAmount,
+        String refundAmount) {
+
+    private static final DateTimeFormatter SHOWTIME_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy, hh:mm a");
+
+    public static BookingEmailView of(Booking booking) {
+        String seats = booking.getSeatLabels() != null && !booking.getSeatLabels().isEmpty()
+                ? String.join(", ", booking.getSeatLabels())
+                : String.join(", ", booking.getSeats());
+        return new BookingEmailView(
+                booking.getTicketNumber(),
+                booking.getCustomerName(),
+                booking.getCustomerEmail(),
+                booking.getShowtime().getMovie().getTitle(),
+                booking.getShowtime().getTheater().getName(),
+                booking.getScreenName(),
+                booking.getShowtime().getShowDateTime().format(SHOWTIME_FORMAT),
+                seats,
+                String.valueOf(booking.getTotalAmount()),
+                String.valueOf(booking.getRefundAmount() != null ? booking.getRefundAmount() : 0));
+    }
+
+    public Map<String, String> toModel() {
+        Map<String, String> model = new HashMap<>();
+        model.put("ticketNumber", ticketNumber);
+        model.put("customerName", customerName);
+        model.put("customerEmail", customerEmail);
+        model.put("movieTitle", movieTitle);
+        model.put("theaterName", theaterName);
+        model.put("screenName", screenName);
+        model.put("showtime", showtime);
+        model.put("seats", seats);
+        model.put("totalAmount", totalAmount);
+        model.put("refundAmount", refundAmount);
+        return model;
+    }
+}
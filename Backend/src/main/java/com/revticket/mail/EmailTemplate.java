@@ -0,0 +1,68 @@
+package com.revticket.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template parsed once into literal and {@code {{placeholder}}} segments, so rendering
+ * is a single pass of appends. Placeholders missing from the model render as empty.
+ */
+public final class EmailTemplate {
+
+    private final String[] literals;
+    private final String[] names;
+    private final boolean html;
+
+    private EmailTemplate(String[] literals, String[] names, boolean html) {
+        this.literals = literals;
+        this.names = names;
+        this.html = html;
+    }
+
+    public static EmailTemplate compile(String source, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int from = 0;
+        while (true) {
+            int open = source.indexOf("{{", from);
+            int close = open < 0 ? -1 : source.indexOf("}}", open + 2);
+            if (close < 0) {
+                literals.add(source.substring(from));
+                break;
+            }
+            literals.add(source.substring(from, open));
+            names.add(source.substring(open + 2, close).trim());
+            from = close + 2;
+        }
+        return new EmailTemplate(literals.toArray(new String[0]), names.toArray(new String[0]), html);
+    }
+
+    public String render(Map<String, String> model) {
+        StringBuilder out = new StringBuilder(256);
+        for (int i = 0; i < names.length; i++) {
+            out.append(literals[i]);
+            String value = model.get(names[i]);
+            if (value != null) {
+                out.append(html ? escape(value) : value);
+            }
+        }
+        return out.append(literals[names.length]).toString();
+    }
+
+    private static String escape(String value) {
+        StringBuilder out = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
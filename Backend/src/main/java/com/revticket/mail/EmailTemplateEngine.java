@@ -0,0 +1,74 @@
+package com.revticket.mail;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiles the templates under {@code classpath:templates/email} at startup. Each email
+ * has a {@code <name>.txt} template whose first line is {@code Subject: ...} and may
+ * have a {@code <name>.html} alternative.
+ */
+@Component
+public class EmailTemplateEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplateEngine.class);
+
+    private static final String LOCATION = "classpath:templates/email/";
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    private record CompiledEmail(EmailTemplate subject, EmailTemplate text, EmailTemplate html) {
+    }
+
+    private final Map<String, CompiledEmail> templates = new HashMap<>();
+
+    @PostConstruct
+    void compileTemplates() throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        for (Resource resource : resolver.getResources(LOCATION + "*.txt")) {
+            String filename = resource.getFilename();
+            String name = filename.substring(0, filename.length() - ".txt".length());
+
+            String text = read(resource);
+            int newline = text.indexOf('\n');
+            if (!text.startsWith(SUBJECT_PREFIX) || newline < 0) {
+                throw new IllegalStateException("Email template " + filename + " must start with a Subject: line");
+            }
+            String subject = text.substring(SUBJECT_PREFIX.length(), newline).trim();
+            String body = text.substring(newline + 1);
+
+            Resource htmlResource = resolver.getResource(LOCATION + name + ".html");
+            EmailTemplate html = htmlResource.exists() ? EmailTemplate.compile(read(htmlResource), true) : null;
+
+            templates.put(name, new CompiledEmail(
+                    EmailTemplate.compile(subject, false), EmailTemplate.compile(body, false), html));
+        }
+        logger.info("Compiled {} email templates", templates.size());
+    }
+
+    public RenderedEmail render(String name, Map<String, String> model) {
+        CompiledEmail email = templates.get(name);
+        if (email == null) {
+            throw new IllegalArgumentException("Unknown email template: " + name);
+        }
+        return new RenderedEmail(
+                email.subject().render(model),
+                email.text().render(model),
+                email.html() != null ? email.html().render(model) : null);
+    }
+
+    private static String read(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.revticket.mail;
+
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JavaMailSenderImpl} that keeps authenticated SMTP connections open between
+ * sends instead of connecting, negotiating STARTTLS and logging in for every call. At
+ * most {@code maxConnections} sends run at once; each borrows an idle connection or
+ * opens one, and returns it afterwards unless it has gone idle too long or reached its
+ * message limit.
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledJavaMailSender.class);
+
+    // Idle connections older than this are checked with a NOOP before reuse
+    private static final long VERIFY_AFTER_MS = 5000;
+
+    private static final class PooledTransport {
+        final Transport transport;
+        long lastUsed = System.currentTimeMillis();
+        int sent;
+
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+
+    private final Semaphore permits;
+    private final Deque<PooledTransport> idle = new ArrayDeque<>();
+    private final long maxIdleMillis;
+    private final int maxMessagesPerConnection;
+    private final long acquireTimeoutMillis;
+
+    public PooledJavaMailSender(int maxConnections, long maxIdleMillis, int maxMessagesPerConnection,
+                                long acquireTimeoutMillis) {
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxIdleMillis = maxIdleMillis;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        acquire(mimeMessages, originalMessages);
+        PooledTransport pooled = null;
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                if (pooled == null) {
+                    try {
+                        pooled = borrow();
+                    } catch (AuthenticationFailedException ex) {
+                        throw new MailAuthenticationException(ex);
+                    } catch (Exception ex) {
+                        // Effectively, all remaining messages failed
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(original(mimeMessages, originalMessages, j), ex);
+                        }
+                        throw new MailSendException("Mail server connection failed", ex, failedMessages);
+                    }
+                }
+
+                MimeMessage mimeMessage = mimeMessages[i];
+                try {
+                    if (mimeMessage.getSentDate() == null) {
+                        mimeMessage.setSentDate(new Date());
+                    }
+                    String messageId = mimeMessage.getMessageID();
+                    mimeMessage.saveChanges();
+                    if (messageId != null) {
+                        // Preserve explicitly specified message id...
+                        mimeMessage.setHeader("Message-ID", messageId);
+                    }
+                    Address[] addresses = mimeMessage.getAllRecipients();
+                    pooled.transport.sendMessage(mimeMessage, addresses != null ? addresses : new Address[0]);
+                    pooled.sent++;
+                } catch (Exception ex) {
+                    failedMessages.put(original(mimeMessages, originalMessages, i), ex);
+                    if (!pooled.transport.isConnected()) {
+                        // The server dropped us: carry on with a fresh connection
+                        close(pooled);
+                        pooled = null;
+                    }
+                }
+            }
+        } finally {
+            if (pooled != null) {
+                release(pooled);
+            }
+            permits.release();
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        synchronized (idle) {
+            idle.forEach(this::close);
+            idle.clear();
+        }
+    }
+
+    private void acquire(MimeMessage[] mimeMessages, Object[] originalMessages) {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+            MailSendException timeout = new MailSendException("Timed out waiting for an SMTP connection");
+            for (int i = 0; i < mimeMessages.length; i++) {
+                failedMessages.put(original(mimeMessages, originalMessages, i), timeout);
+            }
+            throw new MailSendException("Timed out waiting for an SMTP connection", timeout, failedMessages);
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        long now = System.currentTimeMillis();
+        while (true) {
+            PooledTransport pooled;
+            synchronized (idle) {
+                pooled = idle.pollFirst();
+            }
+            if (pooled == null) {
+                return new PooledTransport(connectTransport());
+            }
+            long idleFor = now - pooled.lastUsed;
+            if (idleFor > maxIdleMillis || (idleFor > VERIFY_AFTER_MS && !pooled.transport.isConnected())) {
+                close(pooled);
+                continue;
+            }
+            return pooled;
+        }
+    }
+
+    private void release(PooledTransport pooled) {
+        if (pooled.sent >= maxMessagesPerConnection) {
+            close(pooled);
+            return;
+        }
+        pooled.lastUsed = System.currentTimeMillis();
+        synchronized (idle) {
+            idle.addFirst(pooled);
+        }
+    }
+
+    private void close(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (Exception ex) {
+            logger.debug("Failed to close SMTP connection: {}", ex.getMessage());
+        }
+    }
+
+    private static Object original(MimeMessage[] mimeMessages, Object[] originalMessages, int i) {
+        return originalMessages != null ? originalMessages[i] : mimeMessages[i];
+    }
+}
@@ -0,0 +1,8 @@
+package com.revticket.mail;
+
+/**
+ * Output of an email template: the subject, the plain-text body and, when the template
+ * has one, the HTML alternative.
+ */
+public record RenderedEmail(String subject, String text, String html) {
+}
@@ -0,0 +1,10 @@
+package com.revticket.reporting;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * A finished report written to a temporary file, deleted when it leaves the artifact cache.
+ */
+public record ReportArtifact(Path path, String contentType, String filename, long size, Instant createdAt) {
+}
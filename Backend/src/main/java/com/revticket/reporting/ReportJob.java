@@ -0,0 +1,123 @@
+package com.revticket.reporting;
+
+import java.time.Instant;
+
+/**
+ * Progress of one submitted report. Written by the worker thread and read by pollers.
+ */
+public class ReportJob {
+
+    public enum Type {
+        SUMMARY, REVENUE_TREND, EXPORT
+    }
+
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    private final String id;
+    private final Type type;
+    private final String key;
+    private final Instant submittedAt = Instant.now();
+    private final boolean cached;
+
+    private volatile State state = State.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile long rowsWritten;
+    private volatile long totalRows = -1;
+    private volatile String error;
+
+    public ReportJob(String id, Type type, String key, boolean cached) {
+        this.id = id;
+        this.type = type;
+        this.key = key;
+        this.cached = cached;
+        if (cached) {
+            startedAt = submittedAt;
+            finishedAt = submittedAt;
+            state = State.SUCCEEDED;
+        }
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+    }
+
+    void succeeded() {
+        finishedAt = Instant.now();
+        state = State.SUCCEEDED;
+    }
+
+    void failed(String message) {
+        error = message;
+        finishedAt = Instant.now();
+        state = State.FAILED;
+    }
+
+    void setRowsWritten(long rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    /**
+     * Fraction complete between 0 and 1, or null while it cannot be estimated.
+     */
+    public Double progress() {
+        if (state == State.SUCCEEDED) {
+            return 1.0;
+        }
+        if (state != State.RUNNING || totalRows < 0) {
+            return state == State.QUEUED ? 0.0 : null;
+        }
+        return totalRows == 0 ? 1.0 : Math.min(1.0, (double) rowsWritten / totalRows);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,265 @@
+package com.revticket.reporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.revticket.dto.BookingReportFilter;
+import com.revticket.dto.ReportJobRequest;
+import com.revticket.service.BookingExportService;
+import com.revticket.service.BookingReportService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs heavy admin reports in the background. Jobs go to a small fixed pool with a
+ * bounded queue, so at most {@code app.reports.jobs.threads} database connections are
+ * ever taken from booking traffic. Finished reports are written to temporary files and
+ * cached by a hash of their parameters, so an identical request within the TTL is
+ * served without running again, and identical requests in flight share one job.
+ * Jobs and artifacts are local to the instance that ran them.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+    @Autowired
+    private BookingReportService reportService;
+
+    @Autowired
+    private BookingExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.reports.jobs.threads:2}")
+    private int threads;
+
+    @Value("${app.reports.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${app.reports.jobs.artifact-ttl-minutes:30}")
+    private long artifactTtlMinutes;
+
+    @Value("${app.reports.jobs.max-artifacts:50}")
+    private long maxArtifacts;
+
+    private ThreadPoolExecutor executor;
+    private Cache<String, ReportJob> jobs;
+    private Cache<String, ReportArtifact> artifacts;
+    private final ConcurrentMap<String, ReportJob> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Duration ttl = Duration.ofMinutes(artifactTtlMinutes);
+        artifacts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxArtifacts)
+                .scheduler(Scheduler.systemScheduler())
+                .<String, ReportArtifact>removalListener((key, artifact, cause) -> {
+                    if (artifact != null) {
+                        delete(artifact.path());
+                    }
+                })
+                .build();
+        jobs = Caffeine.newBuilder()
+                .expireAfterWrite(ttl.plus(ttl))
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        artifacts.invalidateAll();
+        artifacts.cleanUp();
+    }
+
+    public ReportJob submit(ReportJobRequest request) {
+        ReportJob.Type type = parseType(request.getType());
+        BookingExportService.Format format = parseFormat(request.getFormat());
+        boolean gzip = Boolean.TRUE.equals(request.getGzip());
+        if (type != ReportJob.Type.EXPORT && (request.getFromDate() == null || request.getToDate() == null)) {
+            throw new RuntimeException("fromDate and toDate are required");
+        }
+        if (request.getFromDate() != null && request.getToDate() != null
+                && request.getFromDate().isAfter(request.getToDate())) {
+            throw new RuntimeException("fromDate must not be after toDate");
+        }
+
+        String key = key(type, format, gzip, request);
+        if (artifacts.getIfPresent(key) != null) {
+            ReportJob job = new ReportJob(UUID.randomUUID().toString(), type, key, true);
+            jobs.put(job.getId(), job);
+            return job;
+        }
+
+        ReportJob created = new ReportJob(UUID.randomUUID().toString(), type, key, false);
+        ReportJob job = inFlight.putIfAbsent(key, created);
+        if (job != null) {
+            return job;
+        }
+        jobs.put(created.getId(), created);
+        try {
+            executor.execute(() -> run(created, request, format, gzip));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, created);
+            jobs.invalidate(created.getId());
+            throw new RuntimeException("Too many reports are being generated, try again later");
+        }
+        return created;
+    }
+
+    public Optional<ReportJob> getJob(String id) {
+        return Optional.ofNullable(jobs.getIfPresent(id));
+    }
+
+    /**
+     * The artifact for a finished job, or empty once it has expired.
+     */
+    public Optional<ReportArtifact> getArtifact(ReportJob job) {
+        if (job.getState() != ReportJob.State.SUCCEEDED) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(artifacts.getIfPresent(job.getKey()));
+    }
+
+    private void run(ReportJob job, ReportJobRequest request, BookingExportService.Format format, boolean gzip) {
+        job.started();
+        Path file = null;
+        try {
+            String extension = job.getType() == ReportJob.Type.EXPORT ? format.name().toLowerCase() : "json";
+            file = Files.createTempFile("revticket-report-", "." + extension);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+                switch (job.getType()) {
+                    case SUMMARY -> objectMapper.writeValue(out,
+                            reportService.getSummary(request.getFromDate(), request.getToDate()));
+                    case REVENUE_TREND -> objectMapper.writeValue(out,
+                            reportService.getRevenueTrend(request.getFromDate(), request.getToDate()));
+                    case EXPORT -> export(job, request, format, gzip, out);
+                }
+            }
+
+            String contentType;
+            if (job.getType() != ReportJob.Type.EXPORT) {
+                contentType = "application/json";
+            } else if (gzip) {
+                contentType = "application/gzip";
+            } else {
+                contentType = format == BookingExportService.Format.NDJSON ? "application/x-ndjson" : "text/csv";
+            }
+            String filename = "bookings-" + job.getType().name().toLowerCase().replace('_', '-')
+                    + "." + extension + (gzip && job.getType() == ReportJob.Type.EXPORT ? ".gz" : "");
+            artifacts.put(job.getKey(), new ReportArtifact(file, contentType, filename, Files.size(file), Instant.now()));
+            job.succeeded();
+            logger.info("Report job {} ({}) finished in {} ms", job.getId(), job.getType(),
+                    Duration.between(job.getStartedAt(), job.getFinishedAt()).toMillis());
+        } catch (Exception e) {
+            logger.error("Report job {} ({}) failed", job.getId(), job.getType(), e);
+            if (file != null) {
+                delete(file);
+            }
+            job.failed(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            inFlight.remove(job.getKey(), job);
+        }
+    }
+
+    private void export(ReportJob job, ReportJobRequest request, BookingExportService.Format format,
+                        boolean gzip, OutputStream out) throws IOException {
+        BookingReportFilter filter = new BookingReportFilter();
+        filter.setFromDate(request.getFromDate());
+        filter.setToDate(request.getToDate());
+        filter.setTheaterId(request.getTheaterId());
+        filter.setMovieId(request.getMovieId());
+        filter.setStatus(request.getStatus());
+        filter.setSearchTerm(request.getSearchTerm());
+
+        job.setTotalRows(exportService.count(filter));
+        if (gzip) {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+            exportService.export(filter, format, compressed, job::setRowsWritten);
+            compressed.finish();
+        } else {
+            exportService.export(filter, format, out, job::setRowsWritten);
+        }
+    }
+
+    private static String key(ReportJob.Type type, BookingExportService.Format format, boolean gzip,
+                              ReportJobRequest request) {
+        String raw = String.join("|", type.name(),
+                type == ReportJob.Type.EXPORT ? format.name() + "|" + gzip : "",
+                String.valueOf(request.getFromDate()),
+                String.valueOf(request.getToDate()),
+                type == ReportJob.Type.EXPORT ? String.join("|",
+                        String.valueOf(request.getTheaterId()),
+                        String.valueOf(request.getMovieId()),
+                        String.valueOf(request.getStatus()),
+                        String.valueOf(request.getSearchTerm())) : "");
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ReportJob.Type parseType(String type) {
+        try {
+            return ReportJob.Type.valueOf(type.toUpperCase().replace('-', '_'));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Unsupported report type: " + type);
+        }
+    }
+
+    private static BookingExportService.Format parseFormat(String format) {
+        try {
+            return BookingExportService.Format.valueOf(format == null ? "CSV" : format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported export format: " + format);
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete report artifact {}", path, e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.revticket.repository;
 
+import com.revticket.dto.BookingRow;
+import com.revticket.dto.BookingSummaryView;
 import com.revticket.entity.Booking;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,6 +14,7 @@ import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,29 +36,72 @@ public interface BookingRepository extends JpaRepository<Booking, String> {
     @NonNull
     Optional<Booking> findById(@NonNull String id);
 
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.bookingDate BETWEEN :start AND :end")
-    Long countByDateRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    // Screen and price follow BookingService.mapToResponse: the booking's snapshot, then the live value
+    String ROW_SELECT = "SELECT new com.revticket.dto.BookingRow(b.id, b.user.id, m.id, m.title, m.posterUrl, " +
+            "t.id, t.name, t.location, s.id, s.showDateTime, " +
+            "COALESCE(b.screenName, sc.name, NULLIF(s.screen, ''), 'Screen'), " +
+            "COALESCE(b.ticketPriceSnapshot, s.ticketPrice), b.totalAmount, b.bookingDate, b.status, " +
+            "b.customerName, b.customerEmail, b.customerPhone, b.paymentId, b.qrCode, b.ticketNumber, " +
+            "b.refundAmount, b.refundDate, b.cancellationReason) " +
+            "FROM Booking b JOIN b.showtime s LEFT JOIN s.movie m LEFT JOIN s.theater t " +
+            "LEFT JOIN Screen sc ON sc.id = s.screen ";
 
-    @Query("SELECT COALESCE(SUM(b.totalAmount), 0.0) FROM Booking b WHERE b.status = 'CONFIRMED' AND b.bookingDate BETWEEN :start AND :end")
-    Double sumRevenueByDateRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    String BASE_FILTERS = "WHERE " +
+            "(:fromDate IS NULL OR b.bookingDate >= :fromDate) AND " +
+            "(:toDate IS NULL OR b.bookingDate <= :toDate) AND " +
+            "(:theaterId IS NULL OR b.showtime.theater.id = :theaterId) AND " +
+            "(:movieId IS NULL OR b.showtime.movie.id = :movieId) AND " +
+            "(:status IS NULL OR b.status = :status) ";
 
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.status = 'CANCELLED' AND b.bookingDate BETWEEN :start AND :end")
-    Long countCancelledByDateRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    // searchMode is a BookingSearchTerm.Mode name; only the matching branch survives MySQL's constant folding
+    String FILTERS = BASE_FILTERS + "AND (:searchMode = 'NONE' OR " +
+            "(:searchMode = 'ID' AND b.id = :search) OR " +
+            "(:searchMode = 'TICKET' AND b.ticketNumber = :search) OR " +
+            "(:searchMode = 'LIKE' AND (LOWER(b.customerName) LIKE CONCAT('%', :search, '%') OR " +
+            "LOWER(b.customerEmail) LIKE CONCAT('%', :search, '%') OR " +
+            "LOWER(b.id) LIKE CONCAT('%', :search, '%'))))";
 
-    @Query("SELECT COALESCE(SUM(b.refundAmount), 0.0) FROM Booking b WHERE b.status = 'CANCELLED' AND b.bookingDate BETWEEN :start AND :end")
-    Double sumRefundsByDateRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    String FULLTEXT_FILTERS = BASE_FILTERS +
+            "AND booking_match(b.customerName, b.customerEmail, b.customerPhone, b.ticketNumber, :search) > 0";
 
-    @EntityGraph(attributePaths = {"showtime", "showtime.movie", "showtime.theater", "user"})
-    @Query("SELECT b FROM Booking b WHERE " +
-           "(:fromDate IS NULL OR b.bookingDate >= :fromDate) AND " +
-           "(:toDate IS NULL OR b.bookingDate <= :toDate) AND " +
-           "(:theaterId IS NULL OR b.showtime.theater.id = :theaterId) AND " +
-           "(:movieId IS NULL OR b.showtime.movie.id = :movieId) AND " +
-           "(:status IS NULL OR b.status = :status) AND " +
-           "(:search IS NULL OR LOWER(b.customerName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(b.customerEmail) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(b.id) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Booking> findByFilters(
+    @Query(ROW_SELECT + "WHERE b.id = :id")
+    Optional<BookingRow> findRowById(@Param("id") String id);
+
+    @Query(ROW_SELECT + "ORDER BY b.bookingDate DESC, b.id DESC")
+    List<BookingRow> findAllRows();
+
+    @Query(ROW_SELECT + "WHERE b.status = :status ORDER BY b.bookingDate DESC, b.id DESC")
+    List<BookingRow> findRowsByStatus(@Param("status") Booking.BookingStatus status);
+
+    @Query(ROW_SELECT + "WHERE b.user.id = :userId ORDER BY b.bookingDate DESC, b.id DESC")
+    List<BookingRow> findRowsByUserId(@Param("userId") String userId);
+
+    // Keyset pages of a user's bookings, newest first, served by idx_bookings_user_date
+    @Query(ROW_SELECT + "WHERE b.user.id = :userId ORDER BY b.bookingDate DESC, b.id DESC")
+    List<BookingRow> findRowPageByUserId(@Param("userId") String userId, Pageable pageable);
+
+    @Query(ROW_SELECT + "WHERE b.user.id = :userId AND " +
+           "(b.bookingDate < :date OR (b.bookingDate = :date AND b.id < :id)) " +
+           "ORDER BY b.bookingDate DESC, b.id DESC")
+    List<BookingRow> findRowPageByUserIdAfter(@Param("userId") String userId, @Param("date") LocalDateTime date,
+                                              @Param("id") String id, Pageable pageable);
+
+    @Query(value = ROW_SELECT + FILTERS,
+           countQuery = "SELECT COUNT(b) FROM Booking b " + FILTERS)
+    Page<BookingRow> findRowsByFilters(
+        @Param("fromDate") LocalDateTime fromDate,
+        @Param("toDate") LocalDateTime toDate,
+        @Param("theaterId") String theaterId,
+        @Param("movieId") String movieId,
+        @Param("status") Booking.BookingStatus status,
+        @Param("searchMode") String searchMode,
+        @Param("search") String search,
+        Pageable pageable
+    );
+
+    @Query(value = ROW_SELECT + FULLTEXT_FILTERS,
+           countQuery = "SELECT COUNT(b) FROM Booking b " + FULLTEXT_FILTERS)
+    Page<BookingRow> findRowsByFulltext(
         @Param("fromDate") LocalDateTime fromDate,
         @Param("toDate") LocalDateTime toDate,
         @Param("theaterId") String theaterId,
@@ -65,6 +111,63 @@ public interface BookingRepository extends JpaRepository<Booking, String> {
         Pageable pageable
     );
 
+    @Query("SELECT b.id, seat FROM Booking b JOIN b.seats seat WHERE b.id IN :ids")
+    List<Object[]> findSeatIdsByBookingIds(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT b.id, label FROM Booking b JOIN b.seatLabels label WHERE b.id IN :ids")
+    List<Object[]> findSeatLabelsByBookingIds(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT new com.revticket.dto.BookingSummaryView(b.id, b.ticketNumber, m.title, m.posterUrl, " +
+           "t.name, s.showDateTime, b.screenName, SIZE(b.seats), b.totalAmount, b.status, b.bookingDate) " +
+           "FROM Booking b JOIN b.showtime s JOIN s.movie m JOIN s.theater t " +
+           "WHERE b.user.id = :userId ORDER BY b.bookingDate DESC, b.id DESC")
+    List<BookingSummaryView> findSummaryPageByUserId(@Param("userId") String userId, Pageable pageable);
+
+    @Query("SELECT new com.revticket.dto.BookingSummaryView(b.id, b.ticketNumber, m.title, m.posterUrl, " +
+           "t.name, s.showDateTime, b.screenName, SIZE(b.seats), b.totalAmount, b.status, b.bookingDate) " +
+           "FROM Booking b JOIN b.showtime s JOIN s.movie m JOIN s.theater t " +
+           "WHERE b.user.id = :userId AND " +
+           "(b.bookingDate < :date OR (b.bookingDate = :date AND b.id < :id)) " +
+           "ORDER BY b.bookingDate DESC, b.id DESC")
+    List<BookingSummaryView> findSummaryPageByUserIdAfter(@Param("userId") String userId,
+                                                          @Param("date") LocalDateTime date,
+                                                          @Param("id") String id, Pageable pageable);
+
+    @Query("SELECT b.showtime.id FROM Booking b WHERE b.id = :id")
+    Optional<String> findShowtimeIdById(@Param("id") String id);
+
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.bookingDate BETWEEN :start AND :end")
+    Long countByDateRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT COALESCE(SUM(b.totalAmount), 0.0) FROM Booking b WHERE b.status = 'CONFIRMED' AND b.bookingDate BETWEEN :start AND :end")
+    Double sumRevenueByDateRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.status = 'CANCELLED' AND b.bookingDate BETWEEN :start AND :end")
+    Long countCancelledByDateRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT COALESCE(SUM(b.refundAmount), 0.0) FROM Booking b WHERE b.status = 'CANCELLED' AND b.bookingDate BETWEEN :start AND :end")
+    Double sumRefundsByDateRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    String CONFIRMED_REVENUE = "COALESCE(SUM(CASE WHEN b.status = 'CONFIRMED' THEN b.totalAmount ELSE 0.0 END), 0.0)";
+
+    String BOOKED_BETWEEN = "WHERE b.bookingDate >= :start AND b.bookingDate < :end ";
+
+    @Query("SELECT CAST(b.bookingDate AS LocalDate), " + CONFIRMED_REVENUE + ", COUNT(b) FROM Booking b " +
+           BOOKED_BETWEEN + "GROUP BY CAST(b.bookingDate AS LocalDate)")
+    List<Object[]> sumRevenueByDay(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT EXTRACT(HOUR FROM b.bookingDate), " + CONFIRMED_REVENUE + ", COUNT(b) FROM Booking b " +
+           BOOKED_BETWEEN + "GROUP BY EXTRACT(HOUR FROM b.bookingDate)")
+    List<Object[]> sumRevenueByHour(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT t.id, t.name, " + CONFIRMED_REVENUE + ", COUNT(b) FROM Booking b " +
+           "JOIN b.showtime s JOIN s.theater t " + BOOKED_BETWEEN + "GROUP BY t.id, t.name")
+    List<Object[]> sumRevenueByTheater(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT m.id, m.title, " + CONFIRMED_REVENUE + ", COUNT(b) FROM Booking b " +
+           "JOIN b.showtime s JOIN s.movie m " + BOOKED_BETWEEN + "GROUP BY m.id, m.title")
+    List<Object[]> sumRevenueByMovie(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
     @Modifying
     @Query("UPDATE Booking b SET b.status = :status, b.cancellationReason = :reason, b.cancellationRequestedAt = :timestamp WHERE b.id = :id")
     int updateCancellationRequest(@Param("id") String id, @Param("status") Booking.BookingStatus status, @Param("reason") String reason, @Param("timestamp") LocalDateTime timestamp);
@@ -0,0 +1,63 @@
+package com.revticket.repository;
+
+import com.revticket.entity.DailyBookingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyBookingStatsRepository extends JpaRepository<DailyBookingStats, DailyBookingStats.Key> {
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_booking_stats " +
+                   "(stat_date, theater_id, movie_id, bookings, revenue, cancellations, refunds) " +
+                   "VALUES (:date, :theaterId, :movieId, :bookings, :revenue, :cancellations, :refunds) " +
+                   "ON DUPLICATE KEY UPDATE bookings = bookings + VALUES(bookings), " +
+                   "revenue = revenue + VALUES(revenue), " +
+                   "cancellations = cancellations + VALUES(cancellations), " +
+                   "refunds = refunds + VALUES(refunds)",
+           nativeQuery = true)
+    int increment(@Param("date") LocalDate date, @Param("theaterId") String theaterId,
+                  @Param("movieId") String movieId, @Param("bookings") long bookings,
+                  @Param("revenue") double revenue, @Param("cancellations") long cancellations,
+                  @Param("refunds") double refunds);
+
+    @Modifying
+    @Query("DELETE FROM DailyBookingStats d WHERE d.statDate BETWEEN :from AND :to")
+    int deleteRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_booking_stats " +
+                   "(stat_date, theater_id, movie_id, bookings, revenue, cancellations, refunds) " +
+                   "SELECT DATE(b.booking_date), s.theater_id, s.movie_id, COUNT(*), " +
+                   "COALESCE(SUM(CASE WHEN b.status = 'CONFIRMED' THEN b.total_amount END), 0), " +
+                   "SUM(CASE WHEN b.status = 'CANCELLED' THEN 1 ELSE 0 END), " +
+                   "COALESCE(SUM(CASE WHEN b.status = 'CANCELLED' THEN b.refund_amount END), 0) " +
+                   "FROM bookings b JOIN showtimes s ON s.id = b.showtime_id " +
+                   "WHERE b.booking_date >= :start AND b.booking_date < :end " +
+                   "GROUP BY DATE(b.booking_date), s.theater_id, s.movie_id",
+           nativeQuery = true)
+    int insertFromBookings(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT d.statDate, SUM(d.bookings), SUM(d.revenue) FROM DailyBookingStats d " +
+           "WHERE d.statDate BETWEEN :from AND :to GROUP BY d.statDate ORDER BY d.statDate")
+    List<Object[]> sumByDate(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(d.bookings), 0), COALESCE(SUM(d.revenue), 0.0), " +
+           "COALESCE(SUM(d.cancellations), 0), COALESCE(SUM(d.refunds), 0.0) " +
+           "FROM DailyBookingStats d WHERE d.statDate BETWEEN :from AND :to")
+    List<Object[]> sumRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(d.bookings), 0), COALESCE(SUM(d.revenue), 0.0), " +
+           "COALESCE(SUM(d.cancellations), 0), COALESCE(SUM(d.refunds), 0.0) FROM DailyBookingStats d")
+    List<Object[]> sumAll();
+
+    @Query("SELECT MIN(b.bookingDate) FROM Booking b")
+    LocalDateTime findFirstBookingDate();
+}
@@ -0,0 +1,47 @@
+package com.revticket.repository;
+
+import com.revticket.entity.EmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, String> {
+
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now " +
+           "ORDER BY e.nextAttemptAt")
+    List<String> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Only rows still PENDING are taken, so concurrent dispatchers never claim the same message
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'SENDING', e.claimToken = :token, e.claimedAt = :now " +
+           "WHERE e.id IN :ids AND e.status = 'PENDING'")
+    int claim(@Param("ids") List<String> ids, @Param("token") String token, @Param("now") LocalDateTime now);
+
+    List<EmailOutbox> findByClaimToken(String claimToken);
+
+    // An expired claim counts as an attempt, so a message that kills its dispatcher is not retried forever
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'DEAD', e.attempts = e.attempts + 1, e.claimToken = null, " +
+           "e.lastError = :error WHERE e.status = 'SENDING' AND e.claimedAt < :before " +
+           "AND e.attempts + 1 >= :maxAttempts")
+    int killStale(@Param("before") LocalDateTime before, @Param("maxAttempts") int maxAttempts,
+                  @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'PENDING', e.attempts = e.attempts + 1, e.claimToken = null, " +
+           "e.lastError = :error WHERE e.status = 'SENDING' AND e.claimedAt < :before")
+    int requeueStale(@Param("before") LocalDateTime before, @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = 'SENT' AND e.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+
+    long countByStatus(EmailOutbox.Status status);
+}
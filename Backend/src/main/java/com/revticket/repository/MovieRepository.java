@@ -3,13 +3,17 @@ package com.revticket.repository;
 import com.revticket.entity.Movie;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MovieRepository extends JpaRepository<Movie, String> {
     List<Movie> findByIsActiveTrue();
+
+    long countByIsActiveTrue();
     
     @Query("SELECT DISTINCT m FROM Movie m LEFT JOIN m.showtimes s LEFT JOIN s.theater t WHERE m.isActive = true AND (LOWER(t.location) = LOWER(:city) OR t.location IS NULL) AND (t.isActive = true OR t.isActive IS NULL)")
     List<Movie> findActiveMoviesByCity(String city);
@@ -19,5 +23,11 @@ public interface MovieRepository extends JpaRepository<Movie, String> {
     
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.showtime.movie.id = :movieId")
     Integer countBookingsByMovieId(String movieId);
+
+    @Query("SELECT s.movie.id, COUNT(s) FROM Showtime s WHERE s.movie.id IN :movieIds GROUP BY s.movie.id")
+    List<Object[]> countShowtimesByMovieIds(@Param("movieIds") Collection<String> movieIds);
+
+    @Query("SELECT s.movie.id, COUNT(b) FROM Booking b JOIN b.showtime s WHERE s.movie.id IN :movieIds GROUP BY s.movie.id")
+    List<Object[]> countBookingsByMovieIds(@Param("movieIds") Collection<String> movieIds);
 }
 
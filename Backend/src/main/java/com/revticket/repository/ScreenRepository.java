@@ -2,12 +2,18 @@ package com.revticket.repository;
 
 import com.revticket.entity.Screen;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ScreenRepository extends JpaRepository<Screen, String> {
     List<Screen> findByTheaterId(String theaterId);
     List<Screen> findByTheaterIdAndIsActive(String theaterId, Boolean isActive);
+
+    @Query(value = "SELECT id FROM screens WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<String> lockById(@Param("id") String id);
 }
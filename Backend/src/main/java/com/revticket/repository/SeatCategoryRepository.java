@@ -2,6 +2,9 @@ package com.revticket.repository;
 
 import com.revticket.entity.SeatCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,5 +12,8 @@ import java.util.List;
 @Repository
 public interface SeatCategoryRepository extends JpaRepository<SeatCategory, String> {
     List<SeatCategory> findByScreenId(String screenId);
-    void deleteByScreenId(String screenId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM SeatCategory s WHERE s.screen.id = :screenId")
+    int deleteByScreenId(@Param("screenId") String screenId);
 }
@@ -2,14 +2,73 @@ package com.revticket.repository;
 
 import com.revticket.entity.Seat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface SeatRepository extends JpaRepository<Seat, String> {
     List<Seat> findByShowtimeId(String showtimeId);
     List<Seat> findByShowtimeIdAndIsBookedFalse(String showtimeId);
-    void deleteByShowtimeId(String showtimeId);
-}
 
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Seat s WHERE s.showtime.id = :showtimeId")
+    int deleteByShowtimeId(@Param("showtimeId") String showtimeId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Seat s SET s.isBooked = true, s.isHeld = false, s.holdExpiry = null, s.sessionId = null " +
+           "WHERE s.showtime.id = :showtimeId AND s.id IN :seatIds " +
+           "AND s.isBooked = false AND s.isDisabled = false " +
+           "AND (s.isHeld = false OR s.sessionId = :sessionId OR s.holdExpiry < :now)")
+    int claimSeats(@Param("showtimeId") String showtimeId,
+                   @Param("seatIds") Collection<String> seatIds,
+                   @Param("sessionId") String sessionId,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Seat s SET s.isHeld = true, s.holdExpiry = :expiry, s.sessionId = :sessionId " +
+           "WHERE s.showtime.id = :showtimeId AND s.id IN :seatIds " +
+           "AND s.isBooked = false AND s.isDisabled = false " +
+           "AND (s.isHeld = false OR s.sessionId = :sessionId OR s.holdExpiry < :now)")
+    int holdSeats(@Param("showtimeId") String showtimeId,
+                  @Param("seatIds") Collection<String> seatIds,
+                  @Param("sessionId") String sessionId,
+                  @Param("expiry") LocalDateTime expiry,
+                  @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Seat s SET s.isHeld = false, s.holdExpiry = null, s.sessionId = null " +
+           "WHERE s.showtime.id = :showtimeId AND s.id IN :seatIds AND s.isBooked = false")
+    int releaseHolds(@Param("showtimeId") String showtimeId, @Param("seatIds") Collection<String> seatIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Seat s SET s.isBooked = false, s.isHeld = false, s.holdExpiry = null, s.sessionId = null " +
+           "WHERE s.showtime.id = :showtimeId AND s.id IN :seatIds AND s.isBooked = true")
+    int releaseBookedSeats(@Param("showtimeId") String showtimeId, @Param("seatIds") Collection<String> seatIds);
+
+    @Query("SELECT s.id FROM Seat s WHERE s.showtime.id = :showtimeId AND s.id IN :seatIds AND s.isBooked = true")
+    List<String> findBookedIds(@Param("showtimeId") String showtimeId, @Param("seatIds") Collection<String> seatIds);
+
+    @Query("SELECT s.showtime.id, s.id, s.holdExpiry FROM Seat s " +
+           "WHERE s.isHeld = true AND s.isBooked = false AND s.holdExpiry IS NOT NULL")
+    List<Object[]> findActiveHolds();
+
+    @Query("SELECT s.id FROM Seat s WHERE s.showtime.id = :showtimeId AND s.id IN :seatIds " +
+           "AND s.isHeld = true AND s.isBooked = false AND s.holdExpiry <= :now")
+    List<String> findExpiredHoldIds(@Param("showtimeId") String showtimeId,
+                                    @Param("seatIds") Collection<String> seatIds,
+                                    @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Seat s SET s.isHeld = false, s.holdExpiry = null, s.sessionId = null " +
+           "WHERE s.showtime.id = :showtimeId AND s.id IN :seatIds " +
+           "AND s.isHeld = true AND s.isBooked = false AND s.holdExpiry <= :now")
+    int releaseExpiredHolds(@Param("showtimeId") String showtimeId,
+                            @Param("seatIds") Collection<String> seatIds,
+                            @Param("now") LocalDateTime now);
+}
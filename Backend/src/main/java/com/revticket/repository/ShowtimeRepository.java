@@ -3,6 +3,7 @@ package com.revticket.repository;
 import com.revticket.entity.Showtime;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -61,5 +62,20 @@ public interface ShowtimeRepository extends JpaRepository<Showtime, String> {
                                              @Param("end") LocalDateTime end);
 
     List<Showtime> findByScreen(String screen);
+
+    @Query("SELECT s.screen FROM Showtime s WHERE s.id = :id")
+    Optional<String> findScreenById(@Param("id") String id);
+
+    @Query("SELECT s.id, s.showDateTime, m.duration FROM Showtime s JOIN s.movie m WHERE s.screen = :screen")
+    List<Object[]> findScheduleByScreen(@Param("screen") String screen);
+
+    @Query(value = "SELECT id FROM showtimes WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<String> lockById(@Param("id") String id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Showtime s SET s.availableSeats = " +
+           "CASE WHEN s.availableSeats + :delta < 0 THEN 0 ELSE s.availableSeats + :delta END " +
+           "WHERE s.id = :id")
+    int adjustAvailableSeats(@Param("id") String id, @Param("delta") int delta);
 }
 
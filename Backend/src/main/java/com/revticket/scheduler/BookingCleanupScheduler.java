@@ -4,6 +4,8 @@ import com.revticket.entity.Booking;
 import com.revticket.repository.BookingRepository;
 import com.revticket.repository.SeatRepository;
 import com.revticket.repository.ShowtimeRepository;
+import com.revticket.scheduling.ScreenScheduleIndex;
+import com.revticket.seating.SeatInventoryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +30,12 @@ public class BookingCleanupScheduler {
     @Autowired
     private ShowtimeRepository showtimeRepository;
 
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private ScreenScheduleIndex screenScheduleIndex;
+
     // Run every day at 2 AM
     @Scheduled(cron = "0 0 2 * * ?")
     @Transactional
@@ -50,6 +58,7 @@ public class BookingCleanupScheduler {
             for (Booking booking : oldBookings) {
                 try {
                     seatRepository.deleteByShowtimeId(booking.getShowtime().getId());
+                    seatInventoryService.evict(booking.getShowtime().getId());
                     bookingRepository.delete(booking);
                     deletedCount++;
                 } catch (Exception e) {
@@ -87,7 +96,9 @@ public class BookingCleanupScheduler {
                     List<Booking> bookings = bookingRepository.findByShowtimeId(showtime.getId());
                     if (bookings.isEmpty()) {
                         seatRepository.deleteByShowtimeId(showtime.getId());
+                        seatInventoryService.evict(showtime.getId());
                         showtimeRepository.delete(showtime);
+                        screenScheduleIndex.showtimeRemoved(showtime.getId(), showtime.getScreen(), showtime.getShowDateTime());
                         deletedCount++;
                     }
                 } catch (Exception e) {
@@ -0,0 +1,138 @@
+package com.revticket.scheduler;
+
+import com.revticket.entity.EmailOutbox;
+import com.revticket.mail.RenderedEmail;
+import com.revticket.service.EmailOutboxService;
+import com.revticket.service.EmailService;
+import jakarta.mail.internet.MimeMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the email outbox off the request path. Each run claims a batch of due
+ * messages and sends them over a single SMTP connection; failures are retried with
+ * backoff until they run out of attempts and are marked DEAD.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Value("${app.email.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.email.outbox.claim-timeout-seconds:300}")
+    private long claimTimeoutSeconds;
+
+    @Value("${app.email.outbox.retention-days:7}")
+    private long retentionDays;
+
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter dead;
+
+    public EmailOutboxDispatcher(MeterRegistry meterRegistry) {
+        this.sent = Counter.builder("revticket.email.outbox.sent").register(meterRegistry);
+        this.failed = Counter.builder("revticket.email.outbox.failed").register(meterRegistry);
+        this.dead = Counter.builder("revticket.email.outbox.dead").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        List<EmailOutbox> batch;
+        do {
+            batch = emailOutboxService.claimBatch(batchSize, Duration.ofSeconds(claimTimeoutSeconds));
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    // Run every day at 4 AM
+    @Scheduled(cron = "0 0 4 * * ?")
+    public void purgeSent() {
+        int purged = emailOutboxService.purgeSent(Duration.ofDays(retentionDays));
+        logger.info("Purged {} sent emails from the outbox", purged);
+    }
+
+    private void send(List<EmailOutbox> claimed) {
+        List<EmailOutbox> batch = new ArrayList<>(claimed.size());
+        List<MimeMessage> messages = new ArrayList<>(claimed.size());
+        for (EmailOutbox email : claimed) {
+            try {
+                messages.add(emailService.toMimeMessage(email.getRecipient(),
+                        new RenderedEmail(email.getSubject(), email.getBody(), email.getHtmlBody())));
+                batch.add(email);
+            } catch (MailException e) {
+                fail(email, e);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+            complete(batch, messages, Map.of());
+        } catch (MailSendException e) {
+            // Some messages may have gone out before the failure
+            complete(batch, messages, e.getFailedMessages());
+        } catch (MailException e) {
+            logger.warn("Email batch of {} failed: {}", batch.size(), e.getMessage());
+            for (EmailOutbox email : batch) {
+                fail(email, e);
+            }
+        }
+    }
+
+    private void complete(List<EmailOutbox> batch, List<MimeMessage> messages, Map<Object, Exception> failures) {
+        List<EmailOutbox> delivered = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Exception failure = failures.get(messages.get(i));
+            if (failure == null) {
+                delivered.add(batch.get(i));
+            } else {
+                fail(batch.get(i), failure);
+            }
+        }
+        if (!delivered.isEmpty()) {
+            emailOutboxService.markSent(delivered);
+            sent.increment(delivered.size());
+        }
+    }
+
+    private void fail(EmailOutbox email, Exception e) {
+        boolean permanent = e instanceof MailParseException || e instanceof MailPreparationException;
+        failed.increment();
+        if (emailOutboxService.markFailed(email, e.getMessage(), permanent)) {
+            dead.increment();
+            logger.error("Email {} to {} moved to dead letter after {} attempts: {}",
+                    email.getId(), email.getRecipient(), email.getAttempts(), e.getMessage());
+        }
+    }
+}
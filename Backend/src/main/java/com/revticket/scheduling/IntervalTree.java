@@ -0,0 +1,187 @@
+package com.revticket.scheduling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AVL tree of half-open intervals {@code [start, end)} ordered by start and id, with
+ * each node augmented by the largest end in its subtree. Inserts and removals are
+ * O(log n); an overlap query is O(log n + k) for k matches. Ids are unique: inserting
+ * an id that is already present replaces its interval. Not thread-safe.
+ */
+public class IntervalTree {
+
+    private static final class Node {
+        final long start;
+        final long end;
+        final String id;
+        long maxEnd;
+        int height = 1;
+        Node left;
+        Node right;
+
+        Node(long start, long end, String id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    private int size;
+    private final Map<String, Long> starts = new HashMap<>();
+
+    public int size() {
+        return size;
+    }
+
+    public void insert(String id, long start, long end) {
+        Long previous = starts.put(id, start);
+        if (previous != null) {
+            root = remove(root, id, previous);
+        }
+        root = insert(root, new Node(start, end, id));
+        size++;
+    }
+
+    public boolean remove(String id, long start) {
+        int before = size;
+        root = remove(root, id, start);
+        if (size < before) {
+            starts.remove(id);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the ids of every interval overlapping {@code [start, end)}.
+     */
+    public List<String> overlapping(long start, long end) {
+        List<String> result = new ArrayList<>();
+        collect(root, start, end, result);
+        return result;
+    }
+
+    private void collect(Node node, long start, long end, List<String> result) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collect(node.left, start, end, result);
+        if (node.start < end && node.end > start) {
+            result.add(node.id);
+        }
+        if (node.start < end) {
+            collect(node.right, start, end, result);
+        }
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, String id, long start) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, id, start);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, id, start);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node replacement = new Node(successor.start, successor.end, successor.id);
+            replacement.left = node.left;
+            replacement.right = removeMin(node.right);
+            return rebalance(replacement);
+        }
+        return rebalance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private static int compare(long start, String id, Node node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : id.compareTo(node.id);
+    }
+
+    private Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+}
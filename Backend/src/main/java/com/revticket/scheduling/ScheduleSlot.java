@@ -0,0 +1,11 @@
+package com.revticket.scheduling;
+
+import java.time.LocalDateTime;
+
+/**
+ * A proposed screen booking to validate: the screen, the start time, the running time
+ * in minutes and optionally the showtime being edited, which is ignored when looking
+ * for conflicts.
+ */
+public record ScheduleSlot(String screen, LocalDateTime start, int durationMinutes, String excludeShowtimeId) {
+}
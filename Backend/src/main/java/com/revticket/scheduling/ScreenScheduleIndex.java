@@ -0,0 +1,239 @@
+package com.revticket.scheduling;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.revticket.cache.CacheInvalidation;
+import com.revticket.cache.CacheInvalidationBus;
+import com.revticket.repository.ShowtimeRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-memory occupancy index for screens. Each screen's showtimes are kept in an
+ * {@link IntervalTree} spanning the show start to the end of the movie plus the
+ * cleaning buffer, so overlap checks don't go to the database. Trees are loaded per
+ * screen on first use and updated once the transaction that changed a showtime commits.
+ *
+ * <p>Each committed change is announced on the {@link CacheInvalidationBus}, and other
+ * instances drop their tree for that screen and reload it on next use. Trees idle for
+ * {@code app.scheduling.index.idle-minutes} are dropped.
+ */
+@Component
+public class ScreenScheduleIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScreenScheduleIndex.class);
+
+    public static final String INVALIDATION_NAME = "screenSchedule";
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${app.scheduling.cleaning-buffer-minutes:15}")
+    private int cleaningBufferMinutes;
+
+    @Value("${app.scheduling.default-duration-minutes:180}")
+    private int defaultDurationMinutes;
+
+    @Value("${app.scheduling.index.idle-minutes:30}")
+    private long idleMinutes;
+
+    @Value("${app.scheduling.index.max-screens:1000}")
+    private long maxScreens;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private ConcurrentMap<String, IntervalTree> trees;
+    private ConcurrentMap<String, AtomicLong> modifications;
+
+    @PostConstruct
+    void init() {
+        Duration idle = Duration.ofMinutes(idleMinutes);
+        trees = Caffeine.newBuilder()
+                .expireAfterAccess(idle)
+                .maximumSize(maxScreens)
+                .<String, IntervalTree>build()
+                .asMap();
+        // Kept longer than the trees so a load in progress still sees its stamp move
+        modifications = Caffeine.newBuilder()
+                .expireAfterAccess(idle.multipliedBy(2))
+                .<String, AtomicLong>build()
+                .asMap();
+
+        cacheInvalidationBus.subscribe(invalidation -> {
+            if (INVALIDATION_NAME.equals(invalidation.cacheName()) && !nodeId.equals(invalidation.nodeId())) {
+                if (invalidation.key() == null) {
+                    invalidateLocal();
+                } else {
+                    discardLocal(invalidation.key());
+                }
+            }
+        });
+    }
+
+    /**
+     * Running time to use for a movie, falling back to the default when it is unknown.
+     */
+    public int durationOf(Integer movieDuration) {
+        return movieDuration != null && movieDuration > 0 ? movieDuration : defaultDurationMinutes;
+    }
+
+    public List<String> findConflicts(ScheduleSlot slot) {
+        return findConflicts(List.of(slot)).get(0);
+    }
+
+    /**
+     * Checks each slot against the existing schedule and against the slots before it
+     * in the list, returning the conflicting showtime ids (or {@code "#n"} for the n-th
+     * proposed slot) per slot.
+     */
+    public List<List<String>> findConflicts(List<ScheduleSlot> slots) {
+        Map<String, IntervalTree> proposed = new HashMap<>();
+        List<List<String>> results = new ArrayList<>(slots.size());
+        for (int i = 0; i < slots.size(); i++) {
+            ScheduleSlot slot = slots.get(i);
+            long start = minutes(slot.start());
+            long end = start + slot.durationMinutes() + cleaningBufferMinutes;
+
+            IntervalTree tree = tree(slot.screen());
+            List<String> conflicts;
+            synchronized (tree) {
+                conflicts = tree.overlapping(start, end);
+            }
+            if (slot.excludeShowtimeId() != null) {
+                conflicts.remove(slot.excludeShowtimeId());
+            }
+
+            IntervalTree batch = proposed.computeIfAbsent(slot.screen(), screen -> new IntervalTree());
+            conflicts.addAll(batch.overlapping(start, end));
+            batch.insert("#" + i, start, end);
+            results.add(conflicts);
+        }
+        return results;
+    }
+
+    public void showtimeAdded(String id, String screen, LocalDateTime start, Integer movieDuration) {
+        int duration = durationOf(movieDuration);
+        afterCommit(screen, tree -> {
+            long from = minutes(start);
+            tree.insert(id, from, from + duration + cleaningBufferMinutes);
+        });
+    }
+
+    public void showtimeRemoved(String id, String screen, LocalDateTime start) {
+        afterCommit(screen, tree -> tree.remove(id, minutes(start)));
+    }
+
+    /**
+     * Drops every loaded tree, for changes such as a movie's running time that move
+     * the end of many intervals at once.
+     */
+    public void invalidateAll() {
+        invalidateLocal();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            broadcast(null);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                broadcast(null);
+            }
+        });
+    }
+
+    private IntervalTree tree(String screen) {
+        if (screen == null) {
+            return new IntervalTree();
+        }
+        IntervalTree tree = trees.get(screen);
+        if (tree != null) {
+            return tree;
+        }
+
+        long stamp = modificationCount(screen).get();
+        IntervalTree loaded = new IntervalTree();
+        for (Object[] row : showtimeRepository.findScheduleByScreen(screen)) {
+            long from = minutes((LocalDateTime) row[1]);
+            loaded.insert((String) row[0], from, from + durationOf((Integer) row[2]) + cleaningBufferMinutes);
+        }
+        if (modificationCount(screen).get() != stamp) {
+            return loaded;
+        }
+        IntervalTree existing = trees.putIfAbsent(screen, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void afterCommit(String screen, Consumer<IntervalTree> change) {
+        if (screen == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(screen, change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(screen, change);
+            }
+        });
+    }
+
+    private void apply(String screen, Consumer<IntervalTree> change) {
+        modificationCount(screen).incrementAndGet();
+        IntervalTree tree = trees.get(screen);
+        if (tree != null) {
+            synchronized (tree) {
+                change.accept(tree);
+            }
+        }
+        broadcast(screen);
+    }
+
+    private void discardLocal(String screen) {
+        modificationCount(screen).incrementAndGet();
+        trees.remove(screen);
+    }
+
+    private void invalidateLocal() {
+        modifications.values().forEach(AtomicLong::incrementAndGet);
+        trees.clear();
+    }
+
+    // The local tree is already up to date; a lost message only delays other instances
+    private void broadcast(String screen) {
+        try {
+            cacheInvalidationBus.publish(new CacheInvalidation(nodeId, INVALIDATION_NAME, screen));
+        } catch (Exception e) {
+            logger.warn("Schedule invalidation for screen {} not published: {}", screen, e.getMessage());
+        }
+    }
+
+    private AtomicLong modificationCount(String screen) {
+        // Counters restart from the clock, so a load never matches a stamp from before an expiry
+        return modifications.computeIfAbsent(screen, key -> new AtomicLong(System.currentTimeMillis() * 1000));
+    }
+
+    private static long minutes(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
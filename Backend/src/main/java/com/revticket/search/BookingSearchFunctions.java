@@ -0,0 +1,23 @@
+package com.revticket.search;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code booking_match(name, email, phone, ticket, query)} for JPQL, rendered
+ * as a MySQL boolean-mode {@code MATCH ... AGAINST} over the bookings fulltext index.
+ * The column list must be the one {@link BookingSearchIndex} creates the index on.
+ */
+public class BookingSearchFunctions implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry()
+                .patternDescriptorBuilder("booking_match", "match(?1, ?2, ?3, ?4) against (?5 in boolean mode)")
+                .setExactArgumentCount(5)
+                .setInvariantType(functionContributions.getTypeConfiguration()
+                        .getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE))
+                .register();
+    }
+}
@@ -0,0 +1,159 @@
+package com.revticket.search;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tracks whether the bookings table has its ngram FULLTEXT index, which {@code ddl-auto}
+ * cannot create, and classifies admin search terms against it. Until the index exists,
+ * searches fall back to substring matching.
+ *
+ * <p>Adding the first FULLTEXT index rebuilds {@code bookings} and blocks writes to it
+ * for the whole rebuild, so it is not built at startup unless
+ * {@code app.search.fulltext.create-on-startup} is set. On a large table, build it in a
+ * quiet period through {@code POST /api/admin/reports/search-index} or by hand:
+ * <pre>
+ * SET SESSION innodb_ft_enable_stopword = OFF;
+ * ALTER TABLE bookings ADD FULLTEXT INDEX ft_bookings_search
+ *     (customer_name, customer_email, customer_phone, ticket_number) WITH PARSER ngram;
+ * </pre>
+ * Every instance re-checks periodically and switches over once the index appears.
+ */
+@Component
+@DependsOn("entityManagerFactory") // the schema update must have created the table first
+public class BookingSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingSearchIndex.class);
+
+    static final String INDEX_NAME = "ft_bookings_search";
+
+    private static final int ER_DUP_KEYNAME = 1061;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.search.fulltext.create-on-startup:false}")
+    private boolean createOnStartup;
+
+    private volatile boolean available;
+    private final AtomicBoolean building = new AtomicBoolean();
+
+    @PostConstruct
+    public void checkIndex() {
+        available = indexExists();
+        if (available) {
+            return;
+        }
+        if (createOnStartup) {
+            buildInBackground();
+        } else {
+            logger.warn("Fulltext index {} is missing; booking search uses substring matching until it is built",
+                    INDEX_NAME);
+        }
+    }
+
+    // Picks up an index built by another instance or by hand
+    @Scheduled(fixedDelayString = "${app.search.fulltext.recheck-ms:300000}",
+               initialDelayString = "${app.search.fulltext.recheck-ms:300000}")
+    public void recheck() {
+        if (!available && !building.get() && indexExists()) {
+            available = true;
+            logger.info("Fulltext index {} found, booking search now uses it", INDEX_NAME);
+        }
+    }
+
+    /**
+     * Starts building the index on a background thread. Returns false when the index
+     * already exists or this instance is already building it.
+     */
+    public boolean buildInBackground() {
+        if (available || !building.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                build();
+            } finally {
+                building.set(false);
+            }
+        }, "fulltext-index-build");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public boolean isBuilding() {
+        return building.get();
+    }
+
+    public BookingSearchTerm term(String raw) {
+        return BookingSearchTerm.parse(raw, available);
+    }
+
+    private void build() {
+        long started = System.currentTimeMillis();
+        logger.info("Building fulltext index {} on bookings", INDEX_NAME);
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    // With stopwords on, the ngram parser drops every bigram containing "a" or "i"
+                    statement.execute("SET SESSION innodb_ft_enable_stopword = OFF");
+                    try {
+                        statement.execute("ALTER TABLE bookings ADD FULLTEXT INDEX " + INDEX_NAME +
+                                " (customer_name, customer_email, customer_phone, ticket_number) WITH PARSER ngram");
+                    } finally {
+                        statement.execute("SET SESSION innodb_ft_enable_stopword = ON");
+                    }
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // Another instance won the race to create it
+            if (!hasErrorCode(e, ER_DUP_KEYNAME)) {
+                logger.warn("Could not build fulltext index {}", INDEX_NAME, e);
+            }
+        }
+        available = indexExists();
+        if (available) {
+            logger.info("Fulltext index {} ready after {} ms", INDEX_NAME, System.currentTimeMillis() - started);
+        }
+    }
+
+    private boolean indexExists() {
+        try {
+            Integer existing = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.statistics " +
+                    "WHERE table_schema = DATABASE() AND table_name = 'bookings' AND index_name = ?",
+                    Integer.class, INDEX_NAME);
+            return existing != null && existing > 0;
+        } catch (Exception e) {
+            logger.warn("Could not check for fulltext index {}", INDEX_NAME, e);
+            return false;
+        }
+    }
+
+    private static boolean hasErrorCode(Throwable e, int errorCode) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && sql.getErrorCode() == errorCode) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package com.revticket.search;
+
+import java.util.regex.Pattern;
+
+/**
+ * An admin search string classified by what it looks like. Complete booking ids and
+ * ticket numbers are matched exactly on their own indexes. Everything else, including
+ * partly typed emails and ticket numbers, goes to the fulltext index as a substring
+ * phrase, or to a substring scan when it is too short for it.
+ */
+public record BookingSearchTerm(Mode mode, String value) {
+
+    public enum Mode {
+        NONE, ID, TICKET, FULLTEXT, LIKE
+    }
+
+    /** Shortest term the ngram fulltext index can match (MySQL's default ngram_token_size). */
+    public static final int MIN_FULLTEXT_LENGTH = 2;
+
+    private static final BookingSearchTerm NONE = new BookingSearchTerm(Mode.NONE, "");
+
+    private static final Pattern UUID = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    // The two formats ticket numbers are issued in: checkout's "TKT" + 8 hex digits and Razorpay's "TKT-" + millis
+    private static final Pattern TICKET = Pattern.compile("(?i)TKT[0-9A-F]{8}|TKT-[0-9]{13}");
+
+    public static BookingSearchTerm parse(String raw, boolean fulltextAvailable) {
+        if (raw == null || raw.isBlank()) {
+            return NONE;
+        }
+        String term = raw.trim();
+        if (UUID.matcher(term).matches()) {
+            return new BookingSearchTerm(Mode.ID, term.toLowerCase());
+        }
+        if (TICKET.matcher(term).matches()) {
+            return new BookingSearchTerm(Mode.TICKET, term.toUpperCase());
+        }
+        String phrase = term.replace("\"", "").trim();
+        if (fulltextAvailable && phrase.length() >= MIN_FULLTEXT_LENGTH) {
+            // A quoted phrase in boolean mode matches the term's ngrams in sequence, i.e. as a substring
+            return new BookingSearchTerm(Mode.FULLTEXT, '"' + phrase + '"');
+        }
+        return new BookingSearchTerm(Mode.LIKE, term.toLowerCase());
+    }
+
+    public boolean isNone() {
+        return mode == Mode.NONE;
+    }
+}
@@ -0,0 +1,40 @@
+package com.revticket.seating;
+
+import com.revticket.repository.ScreenRepository;
+import com.revticket.repository.ShowtimeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Distributed showtime lock backed by a {@code SELECT ... FOR UPDATE} on the showtime
+ * row, so every replica sharing the database serialises on the same row lock. Screen
+ * keys lock the {@code screens} row the same way. The lock is released by MySQL when
+ * the transaction commits or rolls back.
+ */
+@Component
+@ConditionalOnProperty(name = "app.booking.lock.distributed", havingValue = "database")
+public class DatabaseShowtimeLock implements DistributedShowtimeLock {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseShowtimeLock.class);
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private ScreenRepository screenRepository;
+
+    @Override
+    public void acquire(String showtimeId) {
+        showtimeRepository.lockById(showtimeId);
+    }
+
+    @Override
+    public void acquireScreen(String screenId) {
+        if (screenRepository.lockById(screenId).isEmpty()) {
+            logger.warn("Screen {} has no row to lock; scheduling on it is only serialised locally", screenId);
+        }
+    }
+}
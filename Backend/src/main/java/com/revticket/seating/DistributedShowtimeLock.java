@@ -0,0 +1,13 @@
+package com.revticket.seating;
+
+/**
+ * Cross-node lock backend used by {@link ShowtimeLockManager} when the backend runs
+ * as several replicas. Implementations must hold the lock until the surrounding
+ * transaction completes.
+ */
+public interface DistributedShowtimeLock {
+
+    void acquire(String showtimeId);
+
+    void acquireScreen(String screenId);
+}
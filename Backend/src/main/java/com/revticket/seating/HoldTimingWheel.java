@@ -0,0 +1,95 @@
+package com.revticket.seating;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Two-level hierarchical timing wheel with one-second ticks. The inner wheel covers
+ * the current minute, the outer wheel the current hour; anything further out waits
+ * in an overflow list and is cascaded inwards on the hour. Registration and expiry
+ * are O(1) per hold regardless of how many holds are pending.
+ */
+public class HoldTimingWheel {
+
+    private static final int SLOTS = 60;
+    private static final long HOUR = (long) SLOTS * SLOTS;
+
+    /**
+     * A pending hold, identified by showtime and seat, due at {@code deadline}
+     * (epoch seconds).
+     */
+    public record Entry(String showtimeId, String seatId, long deadline) {
+    }
+
+    private final List<List<Entry>> seconds = createSlots();
+    private final List<List<Entry>> minutes = createSlots();
+    private List<Entry> overflow = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public HoldTimingWheel(long startTick) {
+        this.currentTick = startTick;
+    }
+
+    public synchronized long currentTick() {
+        return currentTick;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Schedules a hold. Deadlines at or before the current tick fire on the next one.
+     */
+    public synchronized void add(String showtimeId, String seatId, long deadline) {
+        place(new Entry(showtimeId, seatId, Math.max(deadline, currentTick + 1)));
+        size++;
+    }
+
+    /**
+     * Advances the wheel up to and including {@code tick} and returns every entry
+     * that fell due on the way.
+     */
+    public synchronized List<Entry> advanceTo(long tick) {
+        List<Entry> due = new ArrayList<>();
+        while (currentTick < tick) {
+            currentTick++;
+            if (currentTick % HOUR == 0) {
+                List<Entry> pending = overflow;
+                overflow = new ArrayList<>();
+                pending.forEach(this::place);
+            }
+            if (currentTick % SLOTS == 0) {
+                List<Entry> slot = minutes.get((int) ((currentTick / SLOTS) % SLOTS));
+                List<Entry> pending = new ArrayList<>(slot);
+                slot.clear();
+                pending.forEach(this::place);
+            }
+            List<Entry> slot = seconds.get((int) (currentTick % SLOTS));
+            due.addAll(slot);
+            slot.clear();
+        }
+        size -= due.size();
+        return due;
+    }
+
+    private void place(Entry entry) {
+        long deadline = entry.deadline();
+        if (deadline / SLOTS == currentTick / SLOTS) {
+            seconds.get((int) (deadline % SLOTS)).add(entry);
+        } else if (deadline / HOUR == currentTick / HOUR) {
+            minutes.get((int) ((deadline / SLOTS) % SLOTS)).add(entry);
+        } else {
+            overflow.add(entry);
+        }
+    }
+
+    private static List<List<Entry>> createSlots() {
+        List<List<Entry>> slots = new ArrayList<>(SLOTS);
+        for (int i = 0; i < SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,8 @@
+package com.revticket.seating;
+
+/**
+ * Seat states packed two bits per seat, four seats per byte with seat {@code i} in
+ * bits {@code 2 * (i % 4)} of byte {@code i / 4}. Each value is a {@link SeatState} code.
+ */
+public record PackedSeatStates(long version, String layoutVersion, int seatCount, byte[] states) {
+}
@@ -0,0 +1,190 @@
+package com.revticket.seating;
+
+import com.revticket.entity.Screen;
+import com.revticket.entity.Seat;
+import com.revticket.entity.SeatCategory;
+import com.revticket.entity.SeatData;
+import com.revticket.entity.Showtime;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled, immutable seat template for a screen. Row labels, prices, types and
+ * disabled flags are resolved once from the screen configuration so that creating a
+ * showtime only has to copy them into new {@link Seat} rows.
+ */
+public final class ScreenLayout {
+
+    private static final String[] DEFAULT_ROWS = { "A", "B", "C", "D", "E", "F", "G", "H" };
+    private static final int DEFAULT_SEATS_PER_ROW = 12;
+
+    private final String screenId;
+    private final long version;
+    private final String[] rows;
+    private final int[] numbers;
+    private final double[] prices;
+    private final Seat.SeatType[] types;
+    private final boolean[] disabled;
+    private final int enabledSeats;
+
+    private ScreenLayout(String screenId, long version, List<SeatTemplate> seats) {
+        this.screenId = screenId;
+        this.version = version;
+        int size = seats.size();
+        this.rows = new String[size];
+        this.numbers = new int[size];
+        this.prices = new double[size];
+        this.types = new Seat.SeatType[size];
+        this.disabled = new boolean[size];
+        int enabled = 0;
+        for (int i = 0; i < size; i++) {
+            SeatTemplate seat = seats.get(i);
+            rows[i] = seat.row();
+            numbers[i] = seat.number();
+            prices[i] = seat.price();
+            types[i] = seat.type();
+            disabled[i] = seat.disabled();
+            if (!seat.disabled()) {
+                enabled++;
+            }
+        }
+        this.enabledSeats = enabled;
+    }
+
+    private record SeatTemplate(String row, int number, double price, Seat.SeatType type, boolean disabled) {
+    }
+
+    /**
+     * Compiles a layout from the screen's seat map and categories, falling back to a
+     * plain grid from the screen's row and seat counts, and finally to the default
+     * 8 x 12 layout when the screen has no usable configuration.
+     */
+    public static ScreenLayout compile(String screenId, long version, Screen screen,
+                                       List<SeatData> seatDataList, List<SeatCategory> categories) {
+        if (!seatDataList.isEmpty() && !categories.isEmpty()) {
+            return fromSeatMap(screenId, version, seatDataList, categories);
+        }
+        if (screen != null && screen.getRows() != null && screen.getSeatsPerRow() != null) {
+            return fromGrid(screenId, version, screen.getRows(), screen.getSeatsPerRow());
+        }
+        return defaultLayout(screenId, version);
+    }
+
+    public static ScreenLayout defaultLayout(String screenId, long version) {
+        List<SeatTemplate> seats = new ArrayList<>();
+        for (String row : DEFAULT_ROWS) {
+            for (int i = 1; i <= DEFAULT_SEATS_PER_ROW; i++) {
+                if ("A".equals(row) || "B".equals(row)) {
+                    seats.add(new SeatTemplate(row, i, 150.0, Seat.SeatType.REGULAR, false));
+                } else if ("C".equals(row) || "D".equals(row) || "E".equals(row)) {
+                    seats.add(new SeatTemplate(row, i, 200.0, Seat.SeatType.PREMIUM, false));
+                } else {
+                    seats.add(new SeatTemplate(row, i, 300.0, Seat.SeatType.VIP, false));
+                }
+            }
+        }
+        return new ScreenLayout(screenId, version, seats);
+    }
+
+    private static ScreenLayout fromSeatMap(String screenId, long version,
+                                            List<SeatData> seatDataList, List<SeatCategory> categories) {
+        Map<String, Double> categoryPriceMap = new HashMap<>();
+        for (SeatCategory category : categories) {
+            categoryPriceMap.put(category.getId(), category.getPrice());
+        }
+
+        List<SeatData> ordered = new ArrayList<>(seatDataList);
+        ordered.sort(Comparator.comparing(SeatData::getRow).thenComparing(SeatData::getCol));
+
+        List<SeatTemplate> seats = new ArrayList<>(ordered.size());
+        for (SeatData seatData : ordered) {
+            String row = rowLabel(seatData.getRow());
+            int number = seatData.getCol() + 1;
+
+            // Disabled seats exist but are marked as disabled
+            if ("disabled".equals(seatData.getStatus())) {
+                seats.add(new SeatTemplate(row, number, 0.0, Seat.SeatType.REGULAR, true));
+                continue;
+            }
+
+            Double price = categoryPriceMap.get(seatData.getCategoryId());
+            seats.add(new SeatTemplate(row, number, price != null ? price : 100.0, typeForPrice(price), false));
+        }
+        return new ScreenLayout(screenId, version, seats);
+    }
+
+    private static ScreenLayout fromGrid(String screenId, long version, int rowCount, int seatsPerRow) {
+        List<SeatTemplate> seats = new ArrayList<>(rowCount * seatsPerRow);
+        for (int r = 0; r < rowCount; r++) {
+            String row = rowLabel(r);
+            for (int i = 1; i <= seatsPerRow; i++) {
+                // Simple pricing based on row position
+                if (r < rowCount / 3) {
+                    seats.add(new SeatTemplate(row, i, 150.0, Seat.SeatType.REGULAR, false));
+                } else if (r < (rowCount * 2) / 3) {
+                    seats.add(new SeatTemplate(row, i, 200.0, Seat.SeatType.PREMIUM, false));
+                } else {
+                    seats.add(new SeatTemplate(row, i, 300.0, Seat.SeatType.VIP, false));
+                }
+            }
+        }
+        return new ScreenLayout(screenId, version, seats);
+    }
+
+    private static Seat.SeatType typeForPrice(Double price) {
+        if (price == null) {
+            return Seat.SeatType.REGULAR;
+        }
+        if (price >= 250) {
+            return Seat.SeatType.VIP;
+        }
+        if (price >= 150) {
+            return Seat.SeatType.PREMIUM;
+        }
+        return Seat.SeatType.REGULAR;
+    }
+
+    private static String rowLabel(int rowIndex) {
+        return String.valueOf((char) ('A' + rowIndex));
+    }
+
+    public String getScreenId() {
+        return screenId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    public int getEnabledSeats() {
+        return enabledSeats;
+    }
+
+    /**
+     * Creates fresh, unsaved seats for a showtime from this template.
+     */
+    public List<Seat> stamp(Showtime showtime) {
+        List<Seat> seats = new ArrayList<>(rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            Seat seat = new Seat();
+            seat.setShowtime(showtime);
+            seat.setRow(rows[i]);
+            seat.setNumber(numbers[i]);
+            seat.setIsBooked(false);
+            seat.setIsHeld(false);
+            seat.setIsDisabled(disabled[i]);
+            seat.setPrice(prices[i]);
+            seat.setType(types[i]);
+            seats.add(seat);
+        }
+        return seats;
+    }
+}
@@ -0,0 +1,91 @@
+package com.revticket.seating;
+
+import com.revticket.entity.Screen;
+import com.revticket.entity.SeatCategory;
+import com.revticket.entity.SeatData;
+import com.revticket.repository.ScreenRepository;
+import com.revticket.repository.SeatCategoryRepository;
+import com.revticket.repository.SeatDataRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches one compiled {@link ScreenLayout} per screen. Each screen has a version that
+ * is bumped whenever its configuration changes, and a layout compiled from an older
+ * version is never cached.
+ */
+@Component
+public class ScreenLayoutCache {
+
+    @Autowired
+    private ScreenRepository screenRepository;
+
+    @Autowired
+    private SeatDataRepository seatDataRepository;
+
+    @Autowired
+    private SeatCategoryRepository seatCategoryRepository;
+
+    private final ConcurrentMap<String, ScreenLayout> layouts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public ScreenLayout getLayout(String screenId) {
+        if (screenId == null) {
+            return ScreenLayout.defaultLayout(null, 0);
+        }
+        ScreenLayout layout = layouts.get(screenId);
+        if (layout != null) {
+            return layout;
+        }
+
+        long version = version(screenId).get();
+        Screen screen = screenRepository.findById(screenId).orElse(null);
+        List<SeatData> seatData = seatDataRepository.findByScreenId(screenId);
+        List<SeatCategory> categories = seatCategoryRepository.findByScreenId(screenId);
+        ScreenLayout compiled = ScreenLayout.compile(screenId, version, screen, seatData, categories);
+
+        if (version(screenId).get() != version) {
+            return compiled;
+        }
+        ScreenLayout existing = layouts.putIfAbsent(screenId, compiled);
+        return existing != null ? existing : compiled;
+    }
+
+    /**
+     * Drops the compiled layout once the current transaction completes, so the next
+     * showtime for this screen is stamped from the updated configuration.
+     */
+    public void invalidate(String screenId) {
+        if (screenId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            discard(screenId);
+            return;
+        }
+        // Bump now as well, so a layout compiled mid-transaction is not cached
+        version(screenId).incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                discard(screenId);
+            }
+        });
+    }
+
+    private void discard(String screenId) {
+        version(screenId).incrementAndGet();
+        layouts.remove(screenId);
+    }
+
+    private AtomicLong version(String screenId) {
+        return versions.computeIfAbsent(screenId, id -> new AtomicLong());
+    }
+}
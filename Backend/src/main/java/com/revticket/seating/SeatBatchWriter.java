@@ -0,0 +1,122 @@
+package com.revticket.seating;
+
+import com.revticket.entity.Seat;
+import com.revticket.entity.SeatData;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes generated seat rows with plain JDBC batches instead of one persist per
+ * entity. Ids are assigned up front, and pending JPA changes are flushed first so the
+ * parent showtime or screen row already exists when the batch runs. Combined with
+ * {@code rewriteBatchedStatements=true} on the MySQL URL, each batch goes out as a
+ * single multi-row INSERT.
+ */
+@Component
+public class SeatBatchWriter {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SEAT =
+            "INSERT INTO seats (id, showtime_id, `row`, number, is_booked, is_held, is_disabled, price, type, hold_expiry, session_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SEAT_DATA =
+            "INSERT INTO seat_data (seat_id, label, row_num, col, category_id, status, screen_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Inserts seats for a showtime, assigning each a new UUID. The seats are not
+     * attached to the persistence context.
+     */
+    public void insertSeats(String showtimeId, List<Seat> seats) {
+        writeSeats(seats, showtimeId);
+    }
+
+    /**
+     * Inserts seats that may belong to different showtimes, taking each seat's
+     * showtime id from {@link Seat#getShowtime()}.
+     */
+    public void insertSeats(List<Seat> seats) {
+        writeSeats(seats, null);
+    }
+
+    private void writeSeats(List<Seat> seats, String showtimeId) {
+        if (seats.isEmpty()) {
+            return;
+        }
+        for (Seat seat : seats) {
+            if (seat.getId() == null) {
+                seat.setId(UUID.randomUUID().toString());
+            }
+        }
+
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(INSERT_SEAT, seats, BATCH_SIZE, (ps, seat) -> {
+            ps.setString(1, seat.getId());
+            ps.setString(2, showtimeId != null ? showtimeId : seat.getShowtime().getId());
+            ps.setString(3, seat.getRow());
+            ps.setInt(4, seat.getNumber());
+            ps.setBoolean(5, Boolean.TRUE.equals(seat.getIsBooked()));
+            ps.setBoolean(6, Boolean.TRUE.equals(seat.getIsHeld()));
+            ps.setBoolean(7, Boolean.TRUE.equals(seat.getIsDisabled()));
+            ps.setDouble(8, seat.getPrice());
+            ps.setString(9, seat.getType().name());
+            if (seat.getHoldExpiry() != null) {
+                ps.setTimestamp(10, Timestamp.valueOf(seat.getHoldExpiry()));
+            } else {
+                ps.setNull(10, Types.TIMESTAMP);
+            }
+            ps.setString(11, seat.getSessionId());
+        });
+    }
+
+    /**
+     * Inserts a screen's seat map. The client sends seat ids such as "A1" that repeat
+     * on every screen, while {@code seat_id} is the table's primary key, so ids are
+     * stored scoped to the screen; see {@link #scopedSeatId} and {@link #clientSeatId}.
+     */
+    public void insertSeatData(String screenId, List<SeatData> seatData) {
+        if (seatData.isEmpty()) {
+            return;
+        }
+
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(INSERT_SEAT_DATA, seatData, BATCH_SIZE, (ps, seat) -> {
+            ps.setString(1, scopedSeatId(screenId, seat.getSeatId()));
+            ps.setString(2, seat.getLabel());
+            ps.setInt(3, seat.getRow());
+            ps.setInt(4, seat.getCol());
+            ps.setString(5, seat.getCategoryId());
+            ps.setString(6, seat.getStatus());
+            ps.setString(7, screenId);
+        });
+    }
+
+    public static String scopedSeatId(String screenId, String seatId) {
+        return screenId + ":" + seatId;
+    }
+
+    /**
+     * The seat id as the client sent it. Rows written before ids were scoped are
+     * returned unchanged.
+     */
+    public static String clientSeatId(String screenId, String storedSeatId) {
+        String prefix = screenId + ":";
+        return storedSeatId.startsWith(prefix) ? storedSeatId.substring(prefix.length()) : storedSeatId;
+    }
+}
@@ -0,0 +1,11 @@
+package com.revticket.seating;
+
+/**
+ * A batch of seat state changes for one showtime. {@code prev} is the version the
+ * change applies on top of and {@code seq} the version it produces; a client whose
+ * version differs from {@code prev} has missed an update and should fetch a fresh
+ * snapshot. {@code idx[i]} is a seat index in snapshot order and {@code st[i]} its
+ * new {@link SeatState} code.
+ */
+public record SeatDelta(long seq, long prev, int[] idx, int[] st) {
+}
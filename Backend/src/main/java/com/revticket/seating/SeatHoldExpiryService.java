@@ -0,0 +1,155 @@
+package com.revticket.seating;
+
+import com.revticket.repository.SeatRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases expired seat holds in the background. Every hold is registered in a
+ * {@link HoldTimingWheel}; a single thread advances the wheel once a second and
+ * releases whatever fell due with one guarded UPDATE per showtime and batch.
+ */
+@Service
+public class SeatHoldExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatHoldExpiryService.class);
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private ShowtimeLockManager showtimeLockManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final HoldTimingWheel wheel = new HoldTimingWheel(Instant.now().getEpochSecond());
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "seat-hold-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SeatHoldExpiryService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Registers holds with the wheel once the current transaction commits.
+     */
+    public void scheduleAfterCommit(String showtimeId, Collection<String> seatIds, LocalDateTime expiry) {
+        List<String> ids = List.copyOf(seatIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            schedule(showtimeId, ids, expiry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                schedule(showtimeId, ids, expiry);
+            }
+        });
+    }
+
+    public void schedule(String showtimeId, Collection<String> seatIds, LocalDateTime expiry) {
+        long deadline = expiry.atZone(zone).toEpochSecond();
+        for (String seatId : seatIds) {
+            wheel.add(showtimeId, seatId, deadline);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            List<Object[]> holds = seatRepository.findActiveHolds();
+            for (Object[] hold : holds) {
+                schedule((String) hold[0], List.of((String) hold[1]), (LocalDateTime) hold[2]);
+            }
+            logger.info("Rebuilt seat hold expiry wheel with {} pending holds", holds.size());
+        } catch (Exception e) {
+            logger.error("Failed to rebuild seat hold expiry wheel", e);
+        }
+        ticker.scheduleAtFixedRate(this::tick, 1, 1, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    private void tick() {
+        try {
+            List<HoldTimingWheel.Entry> due = wheel.advanceTo(Instant.now().getEpochSecond());
+            if (due.isEmpty()) {
+                return;
+            }
+
+            Map<String, List<String>> byShowtime = new LinkedHashMap<>();
+            for (HoldTimingWheel.Entry entry : due) {
+                byShowtime.computeIfAbsent(entry.showtimeId(), id -> new ArrayList<>()).add(entry.seatId());
+            }
+            for (Map.Entry<String, List<String>> entry : byShowtime.entrySet()) {
+                List<String> seatIds = entry.getValue();
+                for (int from = 0; from < seatIds.size(); from += BATCH_SIZE) {
+                    List<String> batch = seatIds.subList(from, Math.min(from + BATCH_SIZE, seatIds.size()));
+                    releaseExpired(entry.getKey(), batch);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error releasing expired seat holds", e);
+        }
+    }
+
+    private void releaseExpired(String showtimeId, List<String> seatIds) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                showtimeLockManager.lockForTransaction(showtimeId);
+                LocalDateTime now = LocalDateTime.now();
+                List<String> expired = seatRepository.findExpiredHoldIds(showtimeId, seatIds, now);
+                if (expired.isEmpty()) {
+                    return;
+                }
+                seatRepository.releaseExpiredHolds(showtimeId, expired, now);
+                seatInventoryService.afterCommit(showtimeId, inventory -> inventory.releaseHolds(expired));
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        eventPublisher.publishEvent(new SeatHoldsReleasedEvent(showtimeId, expired));
+                    }
+                });
+            });
+        } catch (Exception e) {
+            // Put the batch back so it's retried on the next tick
+            logger.warn("Failed to release expired holds for showtime {}: {}", showtimeId, e.getMessage());
+            schedule(showtimeId, seatIds, LocalDateTime.now());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.revticket.seating;
+
+import java.util.List;
+
+/**
+ * Published after expired seat holds for a showtime have been released and committed.
+ */
+public class SeatHoldsReleasedEvent {
+
+    private final String showtimeId;
+    private final List<String> seatIds;
+
+    public SeatHoldsReleasedEvent(String showtimeId, List<String> seatIds) {
+        this.showtimeId = showtimeId;
+        this.seatIds = List.copyOf(seatIds);
+    }
+
+    public String getShowtimeId() {
+        return showtimeId;
+    }
+
+    public List<String> getSeatIds() {
+        return seatIds;
+    }
+}
@@ -0,0 +1,419 @@
+package com.revticket.seating;
+
+import com.revticket.dto.SeatIdMap;
+import com.revticket.dto.SeatLayoutDescriptor;
+import com.revticket.dto.SeatMapSnapshot;
+import com.revticket.entity.Seat;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory seat state for a single showtime. The seat layout is fixed when the
+ * inventory is loaded; booked, held and disabled flags are kept as bitsets indexed
+ * by seat position so availability checks never touch the persistence context.
+ * The layout version hashes only what the screen configuration determines, so it is
+ * the same for every showtime stamped from one layout.
+ */
+public class SeatInventory {
+
+    private final String showtimeId;
+    private final String screenId;
+    private final String[] seatIds;
+    private final String[] rows;
+    private final int[] numbers;
+    private final double[] prices;
+    private final Seat.SeatType[] types;
+    private final Map<String, Integer> indexById;
+
+    private final BitSet booked;
+    private final BitSet held;
+    private final BitSet disabled;
+    private final LocalDateTime[] holdExpiry;
+    private final String[] sessionIds;
+
+    private final BitSet changed;
+    private String layoutVersion;
+    private String seatIdsVersion;
+    private long version;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private SeatInventory(String showtimeId, String screenId, long version, int size) {
+        this.showtimeId = showtimeId;
+        this.screenId = screenId;
+        this.version = version;
+        this.seatIds = new String[size];
+        this.rows = new String[size];
+        this.numbers = new int[size];
+        this.prices = new double[size];
+        this.types = new Seat.SeatType[size];
+        this.indexById = new HashMap<>(size * 2);
+        this.booked = new BitSet(size);
+        this.held = new BitSet(size);
+        this.disabled = new BitSet(size);
+        this.holdExpiry = new LocalDateTime[size];
+        this.sessionIds = new String[size];
+        this.changed = new BitSet(size);
+    }
+
+    // Rows as A..Z, AA.., then seat number: indexes and the layout hash must not depend on query order
+    private static final Comparator<Seat> SEAT_ORDER = Comparator
+            .comparing((Seat seat) -> seat.getRow() != null ? seat.getRow() : "",
+                    Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()))
+            .thenComparing(seat -> seat.getNumber() != null ? seat.getNumber() : 0)
+            .thenComparing(Seat::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    public static SeatInventory fromSeats(String showtimeId, String screenId, long version, List<Seat> unordered) {
+        List<Seat> seats = new ArrayList<>(unordered);
+        seats.sort(SEAT_ORDER);
+        SeatInventory inventory = new SeatInventory(showtimeId, screenId, version, seats.size());
+        for (int i = 0; i < seats.size(); i++) {
+            Seat seat = seats.get(i);
+            inventory.seatIds[i] = seat.getId();
+            inventory.rows[i] = seat.getRow();
+            inventory.numbers[i] = seat.getNumber() != null ? seat.getNumber() : 0;
+            inventory.prices[i] = seat.getPrice() != null ? seat.getPrice() : 0.0;
+            inventory.types[i] = seat.getType();
+            inventory.indexById.put(seat.getId(), i);
+            inventory.booked.set(i, Boolean.TRUE.equals(seat.getIsBooked()));
+            inventory.held.set(i, Boolean.TRUE.equals(seat.getIsHeld()));
+            inventory.disabled.set(i, Boolean.TRUE.equals(seat.getIsDisabled()));
+            inventory.holdExpiry[i] = seat.getHoldExpiry();
+            inventory.sessionIds[i] = seat.getSessionId();
+        }
+        inventory.layoutVersion = inventory.hashLayout();
+        inventory.seatIdsVersion = hash(inventory.seatIds);
+        return inventory;
+    }
+
+    public String getShowtimeId() {
+        return showtimeId;
+    }
+
+    public String getScreenId() {
+        return screenId;
+    }
+
+    public long getVersion() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return seatIds.length;
+    }
+
+    public int indexOf(String seatId) {
+        Integer index = seatId != null ? indexById.get(seatId) : null;
+        return index != null ? index : -1;
+    }
+
+    public String labelOf(int index) {
+        return rows[index] + numbers[index];
+    }
+
+    public boolean isBooked(int index) {
+        lock.readLock().lock();
+        try {
+            return booked.get(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isAvailable(int index, LocalDateTime now) {
+        lock.readLock().lock();
+        try {
+            return !booked.get(index) && !disabled.get(index) && !isHeldAt(index, now);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isHeldBy(int index, String sessionId, LocalDateTime now) {
+        if (sessionId == null) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return !booked.get(index) && !disabled.get(index) && isHeldAt(index, now)
+                    && sessionId.equals(sessionIds[index]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int availableCount() {
+        lock.readLock().lock();
+        try {
+            BitSet taken = (BitSet) booked.clone();
+            taken.or(disabled);
+            return seatIds.length - taken.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SeatMapSnapshot snapshot(LocalDateTime now) {
+        lock.readLock().lock();
+        try {
+            return SeatMapSnapshot.builder()
+                    .showtimeId(showtimeId)
+                    .version(version)
+                    .seats(toSeats(now))
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String getLayoutVersion() {
+        return layoutVersion;
+    }
+
+    /**
+     * Builds the columnar layout descriptor. {@link SeatInventoryService#layoutOf} shares
+     * one copy per screen and layout version.
+     */
+    public SeatLayoutDescriptor layout() {
+        List<String> rowLabels = new ArrayList<>();
+        Map<String, Integer> rowIndex = new HashMap<>();
+        List<SeatLayoutDescriptor.Category> categories = new ArrayList<>();
+        Map<String, Integer> categoryIndex = new HashMap<>();
+        int[] seatRows = new int[seatIds.length];
+        int[] seatCategories = new int[seatIds.length];
+
+        for (int i = 0; i < seatIds.length; i++) {
+            seatRows[i] = rowIndex.computeIfAbsent(rows[i], row -> {
+                rowLabels.add(row);
+                return rowLabels.size() - 1;
+            });
+            String type = types[i] != null ? types[i].name() : null;
+            double price = prices[i];
+            seatCategories[i] = categoryIndex.computeIfAbsent(type + ":" + price, key -> {
+                categories.add(new SeatLayoutDescriptor.Category(type, price));
+                return categories.size() - 1;
+            });
+        }
+
+        return SeatLayoutDescriptor.builder()
+                .screenId(screenId)
+                .layoutVersion(layoutVersion)
+                .rows(rowLabels)
+                .categories(categories)
+                .seatRows(seatRows)
+                .seatNumbers(numbers.clone())
+                .seatCategories(seatCategories)
+                .build();
+    }
+
+    public SeatIdMap seatIdMap() {
+        return SeatIdMap.builder()
+                .showtimeId(showtimeId)
+                .layoutVersion(layoutVersion)
+                .seatIdsVersion(seatIdsVersion)
+                .seatIds(List.of(seatIds))
+                .build();
+    }
+
+    public PackedSeatStates packedStates(LocalDateTime now) {
+        lock.readLock().lock();
+        try {
+            byte[] packed = new byte[(seatIds.length + 3) / 4];
+            for (int i = 0; i < seatIds.length; i++) {
+                SeatState state = stateOf(i);
+                if (state == SeatState.HELD && !isHeldAt(i, now)) {
+                    state = SeatState.AVAILABLE;
+                }
+                packed[i >> 2] |= (byte) (state.code() << ((i & 3) << 1));
+            }
+            return new PackedSeatStates(version, layoutVersion, seatIds.length, packed);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Seat> toSeats(LocalDateTime now) {
+        lock.readLock().lock();
+        try {
+            List<Seat> seats = new ArrayList<>(seatIds.length);
+            for (int i = 0; i < seatIds.length; i++) {
+                boolean isHeld = isHeldAt(i, now);
+                Seat seat = new Seat();
+                seat.setId(seatIds[i]);
+                seat.setRow(rows[i]);
+                seat.setNumber(numbers[i]);
+                seat.setIsBooked(booked.get(i));
+                seat.setIsHeld(isHeld);
+                seat.setIsDisabled(disabled.get(i));
+                seat.setPrice(prices[i]);
+                seat.setType(types[i]);
+                seat.setHoldExpiry(isHeld ? holdExpiry[i] : null);
+                // The holder's session id authorises checkout of held seats, so it is never published
+                seat.setSessionId(null);
+                seats.add(seat);
+            }
+            return seats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void book(Collection<String> ids) {
+        lock.writeLock().lock();
+        try {
+            for (String id : ids) {
+                int index = indexOf(id);
+                if (index >= 0) {
+                    SeatState before = stateOf(index);
+                    booked.set(index);
+                    clearHold(index);
+                    markChanged(index, before);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void unbook(Collection<String> ids) {
+        lock.writeLock().lock();
+        try {
+            for (String id : ids) {
+                int index = indexOf(id);
+                if (index >= 0) {
+                    SeatState before = stateOf(index);
+                    booked.clear(index);
+                    clearHold(index);
+                    markChanged(index, before);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void hold(Collection<String> ids, String sessionId, LocalDateTime expiry) {
+        lock.writeLock().lock();
+        try {
+            for (String id : ids) {
+                int index = indexOf(id);
+                if (index >= 0 && !booked.get(index)) {
+                    SeatState before = stateOf(index);
+                    held.set(index);
+                    holdExpiry[index] = expiry;
+                    sessionIds[index] = sessionId;
+                    markChanged(index, before);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void releaseHolds(Collection<String> ids) {
+        lock.writeLock().lock();
+        try {
+            for (String id : ids) {
+                int index = indexOf(id);
+                if (index >= 0 && !booked.get(index)) {
+                    SeatState before = stateOf(index);
+                    clearHold(index);
+                    markChanged(index, before);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Collects the seats changed since the last call into a delta that moves this
+     * inventory to {@code newVersion}, or returns {@code null} if nothing changed.
+     */
+    public SeatDelta drainChanges(long newVersion) {
+        lock.writeLock().lock();
+        try {
+            if (changed.isEmpty()) {
+                return null;
+            }
+            int count = changed.cardinality();
+            int[] indexes = new int[count];
+            int[] states = new int[count];
+            int n = 0;
+            for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+                indexes[n] = i;
+                states[n] = stateOf(i).code();
+                n++;
+            }
+            changed.clear();
+            SeatDelta delta = new SeatDelta(newVersion, version, indexes, states);
+            version = newVersion;
+            return delta;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private String hashLayout() {
+        String[] entries = new String[seatIds.length];
+        for (int i = 0; i < seatIds.length; i++) {
+            entries[i] = rows[i] + '|' + numbers[i] + '|' + types[i] + '|' + prices[i];
+        }
+        return hash(entries);
+    }
+
+    private static String hash(String[] entries) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String entry : entries) {
+                digest.update((entry + '\n').getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private SeatState stateOf(int index) {
+        if (booked.get(index)) {
+            return SeatState.BOOKED;
+        }
+        if (disabled.get(index)) {
+            return SeatState.DISABLED;
+        }
+        return held.get(index) ? SeatState.HELD : SeatState.AVAILABLE;
+    }
+
+    private void markChanged(int index, SeatState before) {
+        if (stateOf(index) != before) {
+            changed.set(index);
+        }
+    }
+
+    private boolean isHeldAt(int index, LocalDateTime now) {
+        return held.get(index) && (holdExpiry[index] == null || !holdExpiry[index].isBefore(now));
+    }
+
+    private void clearHold(int index) {
+        held.clear(index);
+        holdExpiry[index] = null;
+        sessionIds[index] = null;
+    }
+}
@@ -0,0 +1,238 @@
+package com.revticket.seating;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.revticket.cache.CacheInvalidation;
+import com.revticket.cache.CacheInvalidationBus;
+import com.revticket.dto.SeatLayoutDescriptor;
+import com.revticket.entity.Seat;
+import com.revticket.repository.SeatRepository;
+import com.revticket.repository.ShowtimeRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Registry of per-showtime {@link SeatInventory} instances. Inventories are loaded
+ * lazily from the seats table and kept in step with it by applying every seat write
+ * once the surrounding transaction commits. Each applied change is pushed to
+ * {@code /topic/showtimes/{id}/seats} as a versioned {@link SeatDelta}.
+ *
+ * <p>Inventories idle for {@code app.seating.inventory.idle-minutes} are dropped. Every
+ * committed change is also announced on the {@link CacheInvalidationBus}, and other
+ * instances drop their copy and reload it on next use. Their view can lag by the bus
+ * delay, which is safe because claims and holds are decided by guarded UPDATEs in the
+ * database, not by the inventory.
+ */
+@Service
+public class SeatInventoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatInventoryService.class);
+
+    // Runs ahead of the showtime lock release so the next lock holder sees the update
+    private static final int SYNCHRONIZATION_ORDER = 0;
+
+    public static final String INVALIDATION_NAME = "seatInventory";
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${app.seating.inventory.idle-minutes:30}")
+    private long idleMinutes;
+
+    @Value("${app.seating.inventory.max-showtimes:2000}")
+    private long maxShowtimes;
+
+    @Value("${app.seating.layout.max-descriptors:500}")
+    private long maxDescriptors;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private ConcurrentMap<String, SeatInventory> inventories;
+    private ConcurrentMap<String, AtomicLong> modifications;
+    // Keyed by screen id and layout version, so showtimes on one screen share a copy
+    private ConcurrentMap<String, SeatLayoutDescriptor> layouts;
+
+    @PostConstruct
+    void init() {
+        Duration idle = Duration.ofMinutes(idleMinutes);
+        inventories = Caffeine.newBuilder()
+                .expireAfterAccess(idle)
+                .maximumSize(maxShowtimes)
+                .<String, SeatInventory>build()
+                .asMap();
+        // Kept longer than the inventories so a load in progress still sees its stamp move
+        modifications = Caffeine.newBuilder()
+                .expireAfterAccess(idle.multipliedBy(2))
+                .<String, AtomicLong>build()
+                .asMap();
+        layouts = Caffeine.newBuilder()
+                .maximumSize(maxDescriptors)
+                .<String, SeatLayoutDescriptor>build()
+                .asMap();
+
+        cacheInvalidationBus.subscribe(invalidation -> {
+            if (INVALIDATION_NAME.equals(invalidation.cacheName()) && !nodeId.equals(invalidation.nodeId())
+                    && invalidation.key() != null) {
+                discardLocal(invalidation.key());
+            }
+        });
+    }
+
+    /**
+     * Returns the inventory for a showtime, loading it on first use, or {@code null}
+     * when the showtime has no seats yet.
+     */
+    public SeatInventory getInventory(String showtimeId) {
+        if (showtimeId == null) {
+            return null;
+        }
+        SeatInventory inventory = inventories.get(showtimeId);
+        if (inventory != null) {
+            return inventory;
+        }
+
+        long stamp = modificationCount(showtimeId).get();
+        List<Seat> seats = seatRepository.findByShowtimeId(showtimeId);
+        if (seats.isEmpty()) {
+            return null;
+        }
+
+        String screenId = showtimeRepository.findScreenById(showtimeId).orElse(null);
+        SeatInventory loaded = SeatInventory.fromSeats(showtimeId, screenId, stamp, seats);
+        if (modificationCount(showtimeId).get() != stamp) {
+            // A seat write committed while we were reading; serve this copy but don't cache it
+            return loaded;
+        }
+        SeatInventory existing = inventories.putIfAbsent(showtimeId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * Returns the shared layout descriptor for the inventory's screen and layout version.
+     */
+    public SeatLayoutDescriptor layoutOf(SeatInventory inventory) {
+        return layouts.computeIfAbsent(inventory.getScreenId() + ":" + inventory.getLayoutVersion(),
+                key -> inventory.layout());
+    }
+
+    /**
+     * Applies a change to the cached inventory once the current transaction commits.
+     * On rollback the inventory is dropped so it gets reloaded from the database.
+     */
+    public void afterCommit(String showtimeId, Consumer<SeatInventory> change) {
+        if (showtimeId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(showtimeId, change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return SYNCHRONIZATION_ORDER;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    apply(showtimeId, change);
+                } else {
+                    discard(showtimeId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops the cached inventory after the current transaction completes, for writes
+     * that change the seat layout itself (initialisation, refresh, deletion).
+     */
+    public void evict(String showtimeId) {
+        if (showtimeId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            discard(showtimeId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return SYNCHRONIZATION_ORDER;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                discard(showtimeId);
+            }
+        });
+    }
+
+    private void apply(String showtimeId, Consumer<SeatInventory> change) {
+        SeatInventory inventory = inventories.get(showtimeId);
+        if (inventory == null) {
+            modificationCount(showtimeId).incrementAndGet();
+        } else {
+            // Serialised per inventory so versions only move forward and deltas reach the broker in order
+            synchronized (inventory) {
+                long version = modificationCount(showtimeId).incrementAndGet();
+                change.accept(inventory);
+                SeatDelta delta = inventory.drainChanges(version);
+                if (delta != null) {
+                    messagingTemplate.convertAndSend("/topic/showtimes/" + showtimeId + "/seats", delta);
+                }
+            }
+        }
+        broadcast(showtimeId);
+    }
+
+    private void discard(String showtimeId) {
+        discardLocal(showtimeId);
+        broadcast(showtimeId);
+    }
+
+    private void discardLocal(String showtimeId) {
+        long version = modificationCount(showtimeId).incrementAndGet();
+        if (inventories.remove(showtimeId) != null) {
+            // No client can be at version -1, so this tells everyone to fetch a new snapshot
+            messagingTemplate.convertAndSend("/topic/showtimes/" + showtimeId + "/seats",
+                    new SeatDelta(version, -1, new int[0], new int[0]));
+        }
+    }
+
+    // The local copy is already up to date; a lost message only delays other instances
+    private void broadcast(String showtimeId) {
+        try {
+            cacheInvalidationBus.publish(new CacheInvalidation(nodeId, INVALIDATION_NAME, showtimeId));
+        } catch (Exception e) {
+            logger.warn("Seat inventory invalidation for showtime {} not published: {}", showtimeId, e.getMessage());
+        }
+    }
+
+    private AtomicLong modificationCount(String showtimeId) {
+        // Counters restart from the clock, so versions keep increasing after an entry expires
+        return modifications.computeIfAbsent(showtimeId, id -> new AtomicLong(System.currentTimeMillis() * 1000));
+    }
+}
@@ -0,0 +1,136 @@
+package com.revticket.seating;
+
+import com.revticket.repository.SeatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Seat state transitions expressed as single guarded UPDATE statements. Each claim
+ * checks the affected-row count, so a request for several seats either takes all of
+ * them or fails and rolls back with the surrounding transaction.
+ */
+@Service
+public class SeatReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatReservationService.class);
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatHoldExpiryService seatHoldExpiryService;
+
+    /**
+     * Books every given seat or throws. Returns the number of distinct seats booked.
+     */
+    @Transactional
+    public int claimSeats(String showtimeId, Collection<String> seatIds, String sessionId) {
+        Set<String> ids = distinct(seatIds);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        int claimed = seatRepository.claimSeats(showtimeId, ids, sessionId, LocalDateTime.now());
+        if (claimed != ids.size()) {
+            throw new RuntimeException("Seat is no longer available: " + describe(showtimeId, ids));
+        }
+        seatInventoryService.afterCommit(showtimeId, inventory -> inventory.book(ids));
+        return claimed;
+    }
+
+    @Transactional
+    public void holdSeats(String showtimeId, Collection<String> seatIds, String sessionId, LocalDateTime expiry) {
+        Set<String> ids = distinct(seatIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        int held = seatRepository.holdSeats(showtimeId, ids, sessionId, expiry, LocalDateTime.now());
+        if (held != ids.size()) {
+            throw new RuntimeException("Seat is no longer available: " + describe(showtimeId, ids));
+        }
+        seatInventoryService.afterCommit(showtimeId, inventory -> inventory.hold(ids, sessionId, expiry));
+        seatHoldExpiryService.scheduleAfterCommit(showtimeId, ids, expiry);
+    }
+
+    @Transactional
+    public void releaseHolds(String showtimeId, Collection<String> seatIds) {
+        Set<String> ids = distinct(seatIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        seatRepository.releaseHolds(showtimeId, ids);
+        seatInventoryService.afterCommit(showtimeId, inventory -> inventory.releaseHolds(ids));
+    }
+
+    /**
+     * Frees the given seats that are still booked and returns how many were freed.
+     * Ids that are no longer booked, for example because the screen was reconfigured
+     * and its seats regenerated, are skipped. Callers hold the showtime lock.
+     */
+    @Transactional
+    public int releaseBookedSeats(String showtimeId, Collection<String> seatIds) {
+        Set<String> ids = distinct(seatIds);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        List<String> booked = seatRepository.findBookedIds(showtimeId, ids);
+        if (booked.size() != ids.size()) {
+            Set<String> skipped = new LinkedHashSet<>(ids);
+            booked.forEach(skipped::remove);
+            logger.warn("Seats of showtime {} are no longer booked, skipping: {}", showtimeId, skipped);
+        }
+        if (booked.isEmpty()) {
+            return 0;
+        }
+
+        int released = seatRepository.releaseBookedSeats(showtimeId, booked);
+        seatInventoryService.afterCommit(showtimeId, inventory -> inventory.unbook(booked));
+        return released;
+    }
+
+    private Set<String> distinct(Collection<String> seatIds) {
+        Set<String> ids = new LinkedHashSet<>();
+        if (seatIds != null) {
+            for (String seatId : seatIds) {
+                if (seatId != null) {
+                    ids.add(seatId);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private String describe(String showtimeId, Set<String> ids) {
+        SeatInventory inventory = seatInventoryService.getInventory(showtimeId);
+        if (inventory == null) {
+            return String.join(", ", ids);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<String> labels = new ArrayList<>();
+        for (String id : ids) {
+            int index = inventory.indexOf(id);
+            if (index < 0) {
+                labels.add(id);
+            } else if (!inventory.isAvailable(index, now)) {
+                labels.add(inventory.labelOf(index));
+            }
+        }
+        return labels.isEmpty() ? String.join(", ", ids) : String.join(", ", labels);
+    }
+}
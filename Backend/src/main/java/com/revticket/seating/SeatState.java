@@ -0,0 +1,22 @@
+package com.revticket.seating;
+
+/**
+ * Seat states as sent to clients. The numeric codes are part of the wire format for
+ * seat-map deltas and snapshots, so they must never be reordered.
+ */
+public enum SeatState {
+    AVAILABLE(0),
+    HELD(1),
+    BOOKED(2),
+    DISABLED(3);
+
+    private final int code;
+
+    SeatState(int code) {
+        this.code = code;
+    }
+
+    public int code() {
+        return code;
+    }
+}
@@ -0,0 +1,133 @@
+package com.revticket.seating;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serialises seat-mutating operations per showtime. A fixed array of
+ * {@link ReentrantLock}s is selected by showtime id hash; the lock is taken inside the
+ * caller's transaction and released only after it commits or rolls back, so the next
+ * writer always sees committed seat state. Scheduling takes the same stripes keyed by
+ * screen so that conflict checks and inserts on one screen run one at a time. With a
+ * {@link DistributedShowtimeLock} configured, each key is also locked across replicas.
+ */
+@Component
+public class ShowtimeLockManager {
+
+    // Keeps screen keys apart from the showtime ids that share the stripes
+    private static final String SCREEN_KEY_PREFIX = "screen:";
+
+    private final ReentrantLock[] stripes;
+    private final Timer[] waitTimers;
+    private final Counter[] contention;
+    private final Counter timeouts;
+    private final long timeoutMillis;
+
+    @Autowired(required = false)
+    private DistributedShowtimeLock distributedLock;
+
+    public ShowtimeLockManager(MeterRegistry meterRegistry,
+                               @Value("${app.booking.lock.stripes:64}") int stripeCount,
+                               @Value("${app.booking.lock.timeout-ms:5000}") long timeoutMillis) {
+        this.stripes = new ReentrantLock[stripeCount];
+        this.waitTimers = new Timer[stripeCount];
+        this.contention = new Counter[stripeCount];
+        this.timeoutMillis = timeoutMillis;
+        for (int i = 0; i < stripeCount; i++) {
+            String stripe = String.valueOf(i);
+            stripes[i] = new ReentrantLock();
+            waitTimers[i] = Timer.builder("revticket.showtime.lock.wait")
+                    .description("Time spent waiting for a showtime lock stripe")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+            contention[i] = Counter.builder("revticket.showtime.lock.contended")
+                    .description("Lock acquisitions that found the stripe already held")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+        }
+        this.timeouts = Counter.builder("revticket.showtime.lock.timeouts")
+                .description("Lock acquisitions that gave up after the configured timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Locks the showtime for the rest of the current transaction.
+     */
+    public void lockForTransaction(String showtimeId) {
+        if (showtimeId == null) {
+            return;
+        }
+        lockStripe(showtimeId);
+        if (distributedLock != null) {
+            distributedLock.acquire(showtimeId);
+        }
+    }
+
+    /**
+     * Locks several screens for the rest of the current transaction, in stripe order so
+     * two callers locking overlapping sets cannot deadlock.
+     */
+    public void lockScreensForTransaction(Collection<String> screenIds) {
+        screenIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted(Comparator.comparing((String screenId) -> stripeFor(SCREEN_KEY_PREFIX + screenId))
+                        .thenComparing(Comparator.naturalOrder()))
+                .forEach(screenId -> {
+                    lockStripe(SCREEN_KEY_PREFIX + screenId);
+                    if (distributedLock != null) {
+                        distributedLock.acquireScreen(screenId);
+                    }
+                });
+    }
+
+    private void lockStripe(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Showtime locks can only be taken inside a transaction");
+        }
+
+        int stripe = stripeFor(key);
+        ReentrantLock lock = stripes[stripe];
+        long start = System.nanoTime();
+        boolean acquired = lock.tryLock();
+        if (!acquired) {
+            contention[stripe].increment();
+            try {
+                acquired = lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        waitTimers[stripe].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            timeouts.increment();
+            throw new RuntimeException("Showtime is busy, please try again");
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private int stripeFor(String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return (hash & 0x7fffffff) % stripes.length;
+    }
+}
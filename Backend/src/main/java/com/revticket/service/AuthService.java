@@ -102,11 +102,7 @@ public class AuthService {
         user = userRepository.save(user);
 
         if (emailService != null && settingsService != null && settingsService.areEmailNotificationsEnabled()) {
-            try {
-                emailService.sendAdminNewUserNotification(user.getName(), user.getEmail());
-            } catch (Exception e) {
-                System.out.println("Failed to send admin notification: " + e.getMessage());
-            }
+            emailService.queueAdminNewUserNotification(user.getName(), user.getEmail());
         }
 
         String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
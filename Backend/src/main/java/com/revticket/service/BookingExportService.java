@@ -0,0 +1,258 @@
+package com.revticket.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revticket.dto.BookingReportFilter;
+import com.revticket.entity.Booking;
+import com.revticket.search.BookingSearchIndex;
+import com.revticket.search.BookingSearchTerm;
+import com.revticket.util.CsvWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Streams filtered bookings to an output stream as CSV or NDJSON. Rows are read through
+ * a forward-only MySQL streaming cursor and written as they arrive, so memory stays flat
+ * however many bookings match.
+ */
+@Service
+public class BookingExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingExportService.class);
+
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    // The server default of 1024 bytes silently truncates the seat list of large bookings
+    private static final int GROUP_CONCAT_MAX_LEN = 1024 * 1024;
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final String CSV_HEADER =
+            "Booking ID,Customer Name,Email,Phone,Movie,Theater,Screen,Show Date,Seats,Amount,Status,Booking Date\n";
+
+    private static final String SELECT =
+            "SELECT b.id, b.customer_name, b.customer_email, b.customer_phone, m.title, t.name, " +
+            "COALESCE(b.screen_name, sc.name, s.screen), s.show_date_time, " +
+            "(SELECT GROUP_CONCAT(bs.seat_id ORDER BY bs.seat_id SEPARATOR '; ') " +
+            "FROM booking_seats bs WHERE bs.booking_id = b.id), " +
+            "b.total_amount, b.status, b.booking_date " +
+            "FROM bookings b JOIN showtimes s ON s.id = b.showtime_id " +
+            "LEFT JOIN movies m ON m.id = s.movie_id " +
+            "LEFT JOIN theaters t ON t.id = s.theater_id " +
+            "LEFT JOIN screens sc ON sc.id = s.screen ";
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingSearchIndex bookingSearchIndex;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingExportService(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // Connector/J streams rows one at a time instead of buffering the whole result
+        this.jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    public long count(BookingReportFilter filter) {
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT COUNT(*) FROM bookings b JOIN showtimes s ON s.id = b.showtime_id " + where(filter, args);
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    public void export(BookingReportFilter filter, Format format, OutputStream out) throws IOException {
+        export(filter, format, out, rows -> { });
+    }
+
+    /**
+     * Writes the export, reporting the number of rows written so far to {@code progress}
+     * every {@value #PROGRESS_INTERVAL} rows and once at the end.
+     */
+    public void export(BookingReportFilter filter, Format format, OutputStream out, LongConsumer progress)
+            throws IOException {
+        List<Object> args = new ArrayList<>();
+        String sql = SELECT + where(filter, args) + "ORDER BY b.booking_date DESC, b.id DESC";
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowCallbackHandler handler = format == Format.NDJSON ? ndjson(writer) : csv(writer);
+        long started = System.currentTimeMillis();
+        long[] rows = {0};
+        try {
+            // The session variable must be raised on the same connection that streams the rows
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET SESSION group_concat_max_len = " + GROUP_CONCAT_MAX_LEN);
+                }
+                try (PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    statement.setFetchSize(Integer.MIN_VALUE);
+                    new ArgumentPreparedStatementSetter(args.toArray()).setValues(statement);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            handler.processRow(rs);
+                            if (++rows[0] % PROGRESS_INTERVAL == 0) {
+                                progress.accept(rows[0]);
+                            }
+                        }
+                    }
+                } finally {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SET SESSION group_concat_max_len = DEFAULT");
+                    }
+                }
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        progress.accept(rows[0]);
+        logger.info("Exported {} bookings as {} in {} ms", rows[0], format, System.currentTimeMillis() - started);
+    }
+
+    private RowCallbackHandler csv(Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        CsvWriter csv = new CsvWriter(writer);
+        return rs -> {
+            try {
+                csv.text(rs.getString(1))
+                        .text(rs.getString(2))
+                        .text(rs.getString(3))
+                        .text(rs.getString(4))
+                        .text(rs.getString(5))
+                        .text(rs.getString(6))
+                        .text(rs.getString(7))
+                        .date(rs.getObject(8, LocalDateTime.class), DATE_TIME)
+                        .text(rs.getString(9))
+                        .amount(rs.getDouble(10))
+                        .text(rs.getString(11))
+                        .date(rs.getObject(12, LocalDateTime.class), DATE_TIME)
+                        .endRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private RowCallbackHandler ndjson(Writer writer) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        json.setRootValueSeparator(null);
+        return rs -> {
+            try {
+                json.writeStartObject();
+                json.writeStringField("id", rs.getString(1));
+                json.writeStringField("customerName", rs.getString(2));
+                json.writeStringField("customerEmail", rs.getString(3));
+                json.writeStringField("customerPhone", rs.getString(4));
+                json.writeStringField("movieTitle", rs.getString(5));
+                json.writeStringField("theaterName", rs.getString(6));
+                json.writeStringField("screen", rs.getString(7));
+                writeDate(json, "showtime", rs, 8);
+                json.writeStringField("seats", rs.getString(9));
+                json.writeNumberField("totalAmount", rs.getDouble(10));
+                json.writeStringField("status", rs.getString(11));
+                writeDate(json, "bookingDate", rs, 12);
+                json.writeEndObject();
+                json.writeRaw('\n');
+                json.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private static void writeDate(JsonGenerator json, String field, ResultSet rs, int column)
+            throws IOException, SQLException {
+        LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+        if (value == null) {
+            json.writeNullField(field);
+        } else {
+            json.writeStringField(field, value.toString());
+        }
+    }
+
+    private String where(BookingReportFilter filter, List<Object> args) {
+        StringBuilder where = new StringBuilder("WHERE 1 = 1 ");
+        if (filter.getFromDate() != null) {
+            where.append("AND b.booking_date >= ? ");
+            args.add(filter.getFromDate().atStartOfDay());
+        }
+        if (filter.getToDate() != null) {
+            where.append("AND b.booking_date < ? ");
+            args.add(filter.getToDate().plusDays(1).atStartOfDay());
+        }
+        if (filter.getTheaterId() != null && !filter.getTheaterId().isEmpty()) {
+            where.append("AND s.theater_id = ? ");
+            args.add(filter.getTheaterId());
+        }
+        if (filter.getMovieId() != null && !filter.getMovieId().isEmpty()) {
+            where.append("AND s.movie_id = ? ");
+            args.add(filter.getMovieId());
+        }
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+            try {
+                args.add(Booking.BookingStatus.valueOf(filter.getStatus()).name());
+                where.append("AND b.status = ? ");
+            } catch (IllegalArgumentException e) {
+                // Unknown statuses are ignored, as in the paged report
+            }
+        }
+        BookingSearchTerm search = bookingSearchIndex.term(filter.getSearchTerm());
+        switch (search.mode()) {
+            case ID -> {
+                where.append("AND b.id = ? ");
+                args.add(search.value());
+            }
+            case TICKET -> {
+                where.append("AND b.ticket_number = ? ");
+                args.add(search.value());
+            }
+            case FULLTEXT -> {
+                where.append("AND MATCH(b.customer_name, b.customer_email, b.customer_phone, b.ticket_number) " +
+                        "AGAINST (? IN BOOLEAN MODE) ");
+                args.add(search.value());
+            }
+            case LIKE -> {
+                String pattern = "%" + search.value() + "%";
+                where.append("AND (LOWER(b.customer_name) LIKE ? OR LOWER(b.customer_email) LIKE ? OR LOWER(b.id) LIKE ?) ");
+                args.add(pattern);
+                args.add(pattern);
+                args.add(pattern);
+            }
+            case NONE -> { }
+        }
+        return where.toString();
+    }
+}
@@ -3,8 +3,12 @@ package com.revticket.service;
 import com.revticket.dto.*;
 import com.revticket.entity.Booking;
 import com.revticket.repository.BookingRepository;
+import com.revticket.repository.DailyBookingStatsRepository;
+import com.revticket.search.BookingSearchIndex;
+import com.revticket.search.BookingSearchTerm;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -16,27 +20,34 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class BookingReportService {
 
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private BookingResponseAssembler bookingResponseAssembler;
+
+    @Autowired
+    private DailyBookingStatsRepository dailyBookingStatsRepository;
+
+    @Autowired
+    private BookingSearchIndex bookingSearchIndex;
+
     @Transactional(readOnly = true)
     public BookingReportSummary getSummary(LocalDate fromDate, LocalDate toDate) {
-        LocalDateTime start = fromDate.atStartOfDay();
-        LocalDateTime end = toDate.atTime(LocalTime.MAX);
+        Object[] totals = dailyBookingStatsRepository.sumRange(fromDate, toDate).get(0);
+        Long totalBookings = ((Number) totals[0]).longValue();
+        Double totalRevenue = ((Number) totals[1]).doubleValue();
+        Long cancelledBookings = ((Number) totals[2]).longValue();
+        Double totalRefunds = ((Number) totals[3]).doubleValue();
 
-        Long totalBookings = bookingRepository.countByDateRange(start, end);
-        Double totalRevenue = bookingRepository.sumRevenueByDateRange(start, end);
-        Long cancelledBookings = bookingRepository.countCancelledByDateRange(start, end);
-        Double totalRefunds = bookingRepository.sumRefundsByDateRange(start, end);
-
-        LocalDateTime todayStart = LocalDate.now().atStartOfDay();
-        LocalDateTime todayEnd = LocalDate.now().atTime(LocalTime.MAX);
-        Long todayBookings = bookingRepository.countByDateRange(todayStart, todayEnd);
+        LocalDate today = LocalDate.now();
+        Long todayBookings = ((Number) dailyBookingStatsRepository.sumRange(today, today).get(0)[0]).longValue();
 
         Double avgTicketPrice = totalBookings > 0 ? totalRevenue / totalBookings : 0.0;
 
@@ -52,32 +63,89 @@ public class BookingReportService {
 
     @Transactional(readOnly = true)
     public List<RevenueTrendDTO> getRevenueTrend(LocalDate fromDate, LocalDate toDate) {
-        LocalDateTime start = fromDate.atStartOfDay();
-        LocalDateTime end = toDate.atTime(LocalTime.MAX);
+        Map<String, RevenueTrendDTO> trendMap = emptyTrend(fromDate, toDate);
 
-        List<Booking> bookings = bookingRepository.findAll().stream()
-                .filter(b -> b.getBookingDate().isAfter(start) && b.getBookingDate().isBefore(end))
-                .collect(Collectors.toList());
+        for (Object[] row : dailyBookingStatsRepository.sumByDate(fromDate, toDate)) {
+            RevenueTrendDTO trend = trendMap.get(((LocalDate) row[0]).format(DAY_FORMAT));
+            if (trend != null) {
+                trend.setBookings(((Number) row[1]).longValue());
+                trend.setRevenue(((Number) row[2]).doubleValue());
+            }
+        }
 
-        Map<String, RevenueTrendDTO> trendMap = new LinkedHashMap<>();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        return new ArrayList<>(trendMap.values());
+    }
 
-        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
-            trendMap.put(date.format(formatter), new RevenueTrendDTO(date.format(formatter), 0.0, 0L));
+    /**
+     * Same trend as {@link #getRevenueTrend}, grouped by day straight from the bookings
+     * table instead of the rollup. Useful for checking the rollup against live data.
+     */
+    @Transactional(readOnly = true)
+    public List<RevenueTrendDTO> getLiveRevenueTrend(LocalDate fromDate, LocalDate toDate) {
+        Map<String, RevenueTrendDTO> trendMap = emptyTrend(fromDate, toDate);
+
+        for (Object[] row : bookingRepository.sumRevenueByDay(fromDate.atStartOfDay(), toDate.plusDays(1).atStartOfDay())) {
+            RevenueTrendDTO trend = trendMap.get(((LocalDate) row[0]).format(DAY_FORMAT));
+            if (trend != null) {
+                trend.setRevenue(((Number) row[1]).doubleValue());
+                trend.setBookings(((Number) row[2]).longValue());
+            }
         }
 
-        bookings.forEach(booking -> {
-            String dateKey = booking.getBookingDate().toLocalDate().format(formatter);
-            if (trendMap.containsKey(dateKey)) {
-                RevenueTrendDTO trend = trendMap.get(dateKey);
-                if (booking.getStatus() == Booking.BookingStatus.CONFIRMED) {
-                    trend.setRevenue(trend.getRevenue() + booking.getTotalAmount());
+        return new ArrayList<>(trendMap.values());
+    }
+
+    /**
+     * Revenue and booking counts for the range grouped by {@code theater}, {@code movie}
+     * or {@code hour} of day. Theaters and movies come back highest revenue first; hours
+     * are listed 0-23 with empty hours filled in.
+     */
+    @Transactional(readOnly = true)
+    public List<RevenueBreakdownDTO> getRevenueBreakdown(LocalDate fromDate, LocalDate toDate, String groupBy) {
+        LocalDateTime start = fromDate.atStartOfDay();
+        LocalDateTime end = toDate.plusDays(1).atStartOfDay();
+
+        switch (groupBy == null ? "" : groupBy.toLowerCase()) {
+            case "theater":
+                return byRevenue(bookingRepository.sumRevenueByTheater(start, end));
+            case "movie":
+                return byRevenue(bookingRepository.sumRevenueByMovie(start, end));
+            case "hour":
+                RevenueBreakdownDTO[] hours = new RevenueBreakdownDTO[24];
+                for (int hour = 0; hour < 24; hour++) {
+                    String key = String.valueOf(hour);
+                    hours[hour] = new RevenueBreakdownDTO(key, String.format("%02d:00", hour), 0.0, 0L);
                 }
-                trend.setBookings(trend.getBookings() + 1);
-            }
-        });
+                for (Object[] row : bookingRepository.sumRevenueByHour(start, end)) {
+                    RevenueBreakdownDTO bucket = hours[((Number) row[0]).intValue()];
+                    bucket.setRevenue(((Number) row[1]).doubleValue());
+                    bucket.setBookings(((Number) row[2]).longValue());
+                }
+                return Arrays.asList(hours);
+            default:
+                throw new RuntimeException("Unsupported breakdown: " + groupBy);
+        }
+    }
 
-        return new ArrayList<>(trendMap.values());
+    private static Map<String, RevenueTrendDTO> emptyTrend(LocalDate fromDate, LocalDate toDate) {
+        Map<String, RevenueTrendDTO> trendMap = new LinkedHashMap<>();
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            trendMap.put(date.format(DAY_FORMAT), new RevenueTrendDTO(date.format(DAY_FORMAT), 0.0, 0L));
+        }
+        return trendMap;
+    }
+
+    private static List<RevenueBreakdownDTO> byRevenue(List<Object[]> rows) {
+        List<RevenueBreakdownDTO> breakdown = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            breakdown.add(new RevenueBreakdownDTO(
+                    (String) row[0],
+                    (String) row[1],
+                    ((Number) row[2]).doubleValue(),
+                    ((Number) row[3]).longValue()));
+        }
+        breakdown.sort(Comparator.comparing(RevenueBreakdownDTO::getRevenue).reversed());
+        return breakdown;
     }
 
     @Transactional(readOnly = true)
@@ -99,59 +167,26 @@ public class BookingReportService {
                 filter.getSize(),
                 Sort.by(Sort.Direction.DESC, "bookingDate"));
 
-        Page<Booking> bookings = bookingRepository.findByFilters(
-                fromDate,
-                toDate,
-                filter.getTheaterId(),
-                filter.getMovieId(),
-                status,
-                filter.getSearchTerm(),
-                pageable);
-
-        return bookings.map(this::mapToResponse);
-    }
-
-    private BookingResponse mapToResponse(Booking booking) {
-        return BookingResponse.builder()
-                .id(Objects.requireNonNullElse(booking.getId(), ""))
-                .userId(Objects.requireNonNullElse(booking.getUser().getId(), ""))
-                .movieId(booking.getShowtime().getMovie() != null
-                        ? Objects.requireNonNullElse(booking.getShowtime().getMovie().getId(), "")
-                        : "")
-                .movieTitle(booking.getShowtime().getMovie() != null
-                        ? Objects.requireNonNullElse(booking.getShowtime().getMovie().getTitle(), "")
-                        : "")
-                .moviePosterUrl(booking.getShowtime().getMovie() != null
-                        ? Objects.requireNonNullElse(booking.getShowtime().getMovie().getPosterUrl(), "")
-                        : "")
-                .theaterId(booking.getShowtime().getTheater() != null
-                        ? Objects.requireNonNullElse(booking.getShowtime().getTheater().getId(), "")
-                        : "")
-                .theaterName(booking.getShowtime().getTheater() != null
-                        ? Objects.requireNonNullElse(booking.getShowtime().getTheater().getName(), "")
-                        : "")
-                .theaterLocation(booking.getShowtime().getTheater() != null
-                        ? Objects.requireNonNullElse(booking.getShowtime().getTheater().getLocation(), "")
-                        : "")
-                .showtimeId(Objects.requireNonNullElse(booking.getShowtime().getId(), ""))
-                .showtime(booking.getShowtime().getShowDateTime())
-                .screen(booking.getScreenName() != null ? booking.getScreenName()
-                        : Objects.requireNonNullElse(booking.getShowtime().getScreen(), ""))
-                .ticketPrice(booking.getTicketPriceSnapshot() != null ? booking.getTicketPriceSnapshot()
-                        : booking.getShowtime().getTicketPrice())
-                .seats(booking.getSeats())
-                .totalAmount(booking.getTotalAmount())
-                .bookingDate(booking.getBookingDate())
-                .status(booking.getStatus())
-                .customerName(Objects.requireNonNullElse(booking.getCustomerName(), ""))
-                .customerEmail(Objects.requireNonNullElse(booking.getCustomerEmail(), ""))
-                .customerPhone(Objects.requireNonNullElse(booking.getCustomerPhone(), ""))
-                .paymentId(Objects.requireNonNullElse(booking.getPaymentId(), ""))
-                .qrCode(Objects.requireNonNullElse(booking.getQrCode(), ""))
-                .ticketNumber(Objects.requireNonNullElse(booking.getTicketNumber(), ""))
-                .refundAmount(booking.getRefundAmount())
-                .refundDate(booking.getRefundDate())
-                .cancellationReason(Objects.requireNonNullElse(booking.getCancellationReason(), ""))
-                .build();
+        BookingSearchTerm search = bookingSearchIndex.term(filter.getSearchTerm());
+        Page<BookingRow> rows = search.mode() == BookingSearchTerm.Mode.FULLTEXT
+                ? bookingRepository.findRowsByFulltext(
+                        fromDate,
+                        toDate,
+                        filter.getTheaterId(),
+                        filter.getMovieId(),
+                        status,
+                        search.value(),
+                        pageable)
+                : bookingRepository.findRowsByFilters(
+                        fromDate,
+                        toDate,
+                        filter.getTheaterId(),
+                        filter.getMovieId(),
+                        status,
+                        search.mode().name(),
+                        search.value(),
+                        pageable);
+
+        return new PageImpl<>(bookingResponseAssembler.toResponses(rows.getContent()), pageable, rows.getTotalElements());
     }
 }
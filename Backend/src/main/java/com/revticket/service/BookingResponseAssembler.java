@@ -0,0 +1,84 @@
+package com.revticket.service;
+
+import com.revticket.dto.BookingResponse;
+import com.revticket.dto.BookingRow;
+import com.revticket.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Turns {@link BookingRow} projections into {@link BookingResponse}s, loading the seat
+ * ids and labels of a whole page with one query each instead of per booking.
+ */
+@Component
+public class BookingResponseAssembler {
+
+    // Keeps IN lists a reasonable size for admin listings of every booking
+    private static final int SEAT_QUERY_CHUNK = 1000;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    public BookingResponse toResponse(BookingRow row) {
+        return toResponses(List.of(row)).get(0);
+    }
+
+    public List<BookingResponse> toResponses(List<BookingRow> rows) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> ids = rows.stream().map(BookingRow::id).toList();
+        Map<String, List<String>> seats = new HashMap<>();
+        Map<String, List<String>> labels = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += SEAT_QUERY_CHUNK) {
+            List<String> chunk = ids.subList(from, Math.min(from + SEAT_QUERY_CHUNK, ids.size()));
+            group(bookingRepository.findSeatIdsByBookingIds(chunk), seats);
+            group(bookingRepository.findSeatLabelsByBookingIds(chunk), labels);
+        }
+
+        List<BookingResponse> responses = new ArrayList<>(rows.size());
+        for (BookingRow row : rows) {
+            responses.add(BookingResponse.builder()
+                    .id(Objects.requireNonNullElse(row.id(), ""))
+                    .userId(Objects.requireNonNullElse(row.userId(), ""))
+                    .movieId(Objects.requireNonNullElse(row.movieId(), ""))
+                    .movieTitle(Objects.requireNonNullElse(row.movieTitle(), ""))
+                    .moviePosterUrl(Objects.requireNonNullElse(row.moviePosterUrl(), ""))
+                    .theaterId(Objects.requireNonNullElse(row.theaterId(), ""))
+                    .theaterName(Objects.requireNonNullElse(row.theaterName(), ""))
+                    .theaterLocation(Objects.requireNonNullElse(row.theaterLocation(), ""))
+                    .showtimeId(Objects.requireNonNullElse(row.showtimeId(), ""))
+                    .showtime(row.showtime())
+                    .screen(Objects.requireNonNullElse(row.screen(), "Screen"))
+                    .ticketPrice(row.ticketPrice())
+                    .seats(seats.getOrDefault(row.id(), new ArrayList<>()))
+                    .seatLabels(labels.getOrDefault(row.id(), new ArrayList<>()))
+                    .totalAmount(row.totalAmount())
+                    .bookingDate(row.bookingDate())
+                    .status(row.status())
+                    .customerName(Objects.requireNonNullElse(row.customerName(), ""))
+                    .customerEmail(Objects.requireNonNullElse(row.customerEmail(), ""))
+                    .customerPhone(Objects.requireNonNullElse(row.customerPhone(), ""))
+                    .paymentId(Objects.requireNonNullElse(row.paymentId(), ""))
+                    .qrCode(Objects.requireNonNullElse(row.qrCode(), ""))
+                    .ticketNumber(Objects.requireNonNullElse(row.ticketNumber(), ""))
+                    .refundAmount(row.refundAmount())
+                    .refundDate(row.refundDate())
+                    .cancellationReason(Objects.requireNonNullElse(row.cancellationReason(), ""))
+                    .build());
+        }
+        return responses;
+    }
+
+    private static void group(List<Object[]> pairs, Map<String, List<String>> target) {
+        for (Object[] pair : pairs) {
+            target.computeIfAbsent((String) pair[0], id -> new ArrayList<>()).add((String) pair[1]);
+        }
+    }
+}
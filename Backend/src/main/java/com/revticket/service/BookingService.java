@@ -2,41 +2,57 @@ package com.revticket.service;
 
 import com.revticket.dto.BookingRequest;
 import com.revticket.dto.BookingResponse;
+import com.revticket.dto.BookingRow;
+import com.revticket.dto.BookingSummaryView;
+import com.revticket.dto.CursorPage;
 import com.revticket.entity.Booking;
 import com.revticket.entity.Movie;
-import com.revticket.entity.Seat;
 import com.revticket.entity.Showtime;
 import com.revticket.entity.Theater;
 import com.revticket.entity.User;
 import com.revticket.repository.BookingRepository;
-import com.revticket.repository.SeatRepository;
 import com.revticket.repository.ShowtimeRepository;
 import com.revticket.repository.UserRepository;
+import com.revticket.seating.SeatInventory;
+import com.revticket.seating.SeatInventoryService;
+import com.revticket.seating.SeatReservationService;
+import com.revticket.seating.ShowtimeLockManager;
+import com.revticket.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class BookingService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private BookingRepository bookingRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private BookingResponseAssembler bookingResponseAssembler;
 
     @Autowired
-    private ShowtimeRepository showtimeRepository;
+    private BookingStatsService bookingStatsService;
+
+    @Autowired
+    private UserRepository userRepository;
 
     @Autowired
-    private SeatRepository seatRepository;
+    private ShowtimeRepository showtimeRepository;
 
     @Autowired
     private com.revticket.repository.ScreenRepository screenRepository;
@@ -47,6 +63,15 @@ public class BookingService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private ShowtimeLockManager showtimeLockManager;
+
     @Transactional
     public BookingResponse createBooking(String userId, BookingRequest request) {
         if (request.getSeats() == null || request.getSeats().isEmpty()) {
@@ -61,6 +86,7 @@ public class BookingService {
         User user = userRepository.findById(Objects.requireNonNullElse(userId, ""))
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        showtimeLockManager.lockForTransaction(request.getShowtimeId());
         Showtime showtime = showtimeRepository.findById(Objects.requireNonNullElse(request.getShowtimeId(), ""))
                 .orElseThrow(() -> new RuntimeException("Showtime not found"));
         
@@ -68,20 +94,22 @@ public class BookingService {
             throw new RuntimeException("Cannot book tickets for past showtimes");
         }
 
-        List<Seat> showtimeSeats = seatRepository.findByShowtimeId(showtime.getId());
-        
+        SeatInventory inventory = seatInventoryService.getInventory(showtime.getId());
+        LocalDateTime now = LocalDateTime.now();
+
         // Validate seats by ID
         for (String seatId : request.getSeats()) {
-            Seat seat = showtimeSeats.stream()
-                    .filter(s -> seatId.equals(s.getId()))
-                    .findFirst()
-                    .orElseThrow(() -> new RuntimeException("Seat not found: " + seatId));
-            
-            if (seat.getIsBooked() || seat.getIsHeld()) {
-                throw new RuntimeException("Seat is no longer available: " + seat.getRow() + seat.getNumber());
+            int index = inventory != null ? inventory.indexOf(seatId) : -1;
+            if (index < 0) {
+                throw new RuntimeException("Seat not found: " + seatId);
+            }
+            if (!inventory.isAvailable(index, now) && !inventory.isHeldBy(index, request.getSessionId(), now)) {
+                throw new RuntimeException("Seat is no longer available: " + inventory.labelOf(index));
             }
         }
 
+        int claimed = seatReservationService.claimSeats(showtime.getId(), request.getSeats(), request.getSessionId());
+
         Booking booking = new Booking();
         booking.setUser(user);
         booking.setShowtime(showtime);
@@ -101,39 +129,12 @@ public class BookingService {
         booking.setQrCode("QR_" + UUID.randomUUID().toString());
 
         booking = bookingRepository.save(booking);
+        bookingStatsService.record(null, bookingStatsService.contributionOf(booking));
 
-        // Mark seats as booked
-        for (String seatId : request.getSeats()) {
-            Seat seat = showtimeSeats.stream()
-                    .filter(s -> seatId.equals(s.getId()))
-                    .findFirst()
-                    .orElse(null);
-            if (seat != null) {
-                seat.setIsBooked(true);
-                seat.setIsHeld(false);
-                seat.setHoldExpiry(null);
-                seat.setSessionId(null);
-                seatRepository.save(seat);
-            }
-        }
+        showtimeRepository.adjustAvailableSeats(showtime.getId(), -claimed);
 
-        showtime.setAvailableSeats(Math.max(0, showtime.getAvailableSeats() - request.getSeats().size()));
-        showtimeRepository.save(showtime);
-
-        // Send email notification
-        boolean emailEnabled = settingsService.areEmailNotificationsEnabled();
-        System.out.println("Email notifications enabled: " + emailEnabled);
-        if (emailEnabled) {
-            try {
-                System.out.println("Sending booking confirmation to: " + booking.getCustomerEmail());
-                emailService.sendBookingConfirmation(booking);
-                System.out.println("✓ Booking confirmation email sent successfully");
-            } catch (Exception e) {
-                System.err.println("✗ Failed to send booking confirmation email: " + e.getMessage());
-                e.printStackTrace();
-            }
-        } else {
-            System.out.println("Email notifications are disabled in settings");
+        if (settingsService.areEmailNotificationsEnabled()) {
+            emailService.queueBookingConfirmation(booking);
         }
 
         return mapToResponse(booking);
@@ -141,17 +142,58 @@ public class BookingService {
 
     @Transactional(readOnly = true)
     public List<BookingResponse> getUserBookings(String userId) {
-        return bookingRepository.findByUserId(Objects.requireNonNullElse(userId, ""))
-                .stream()
-                .sorted((b1, b2) -> b2.getBookingDate().compareTo(b1.getBookingDate()))
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return bookingResponseAssembler.toResponses(
+                bookingRepository.findRowsByUserId(Objects.requireNonNullElse(userId, "")));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<BookingResponse> getUserBookingsPage(String userId, String cursor, int size) {
+        String user = Objects.requireNonNullElse(userId, "");
+        int limit = pageSize(size);
+        Pageable page = PageRequest.of(0, limit + 1);
+        List<BookingRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = bookingRepository.findRowPageByUserId(user, page);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = bookingRepository.findRowPageByUserIdAfter(user, after.date(), after.id(), page);
+        }
+        boolean hasMore = rows.size() > limit;
+        List<BookingRow> items = hasMore ? rows.subList(0, limit) : rows;
+        BookingRow last = items.isEmpty() ? null : items.get(items.size() - 1);
+        return CursorPage.<BookingResponse>builder()
+                .items(bookingResponseAssembler.toResponses(items))
+                .nextCursor(hasMore ? new KeysetCursor(last.bookingDate(), last.id()).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<BookingSummaryView> getUserBookingSummaries(String userId, String cursor, int size) {
+        String user = Objects.requireNonNullElse(userId, "");
+        int limit = pageSize(size);
+        Pageable page = PageRequest.of(0, limit + 1);
+        List<BookingSummaryView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = bookingRepository.findSummaryPageByUserId(user, page);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = bookingRepository.findSummaryPageByUserIdAfter(user, after.date(), after.id(), page);
+        }
+        boolean hasMore = rows.size() > limit;
+        List<BookingSummaryView> items = hasMore ? rows.subList(0, limit) : rows;
+        BookingSummaryView last = items.isEmpty() ? null : items.get(items.size() - 1);
+        return CursorPage.<BookingSummaryView>builder()
+                .items(items)
+                .nextCursor(hasMore ? new KeysetCursor(last.bookingDate(), last.id()).encode() : null)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Transactional(readOnly = true)
     public Optional<BookingResponse> getBookingById(String id) {
-        return bookingRepository.findById(Objects.requireNonNullElse(id, ""))
-                .map(this::mapToResponse);
+        return bookingRepository.findRowById(Objects.requireNonNullElse(id, ""))
+                .map(bookingResponseAssembler::toResponse);
     }
 
     @Transactional
@@ -169,18 +211,16 @@ public class BookingService {
             throw new RuntimeException("Cancellation not allowed. Must cancel at least " + cancellationHours + " hours before showtime");
         }
 
+        BookingStatsService.Contribution before = bookingStatsService.contributionOf(booking);
         booking.setStatus(Booking.BookingStatus.CANCELLATION_PENDING);
         booking.setCancellationReason(Objects.requireNonNullElse(reason, ""));
         booking.setCancellationRequestedAt(LocalDateTime.now());
         
         booking = bookingRepository.save(booking);
+        bookingStatsService.record(before, bookingStatsService.contributionOf(booking));
 
         if (settingsService.areEmailNotificationsEnabled()) {
-            try {
-                emailService.sendAdminCancellationRequestNotification(booking, reason);
-            } catch (Exception e) {
-                System.err.println("Failed to send admin cancellation notification: " + e.getMessage());
-            }
+            emailService.queueAdminCancellationRequestNotification(booking, reason);
         }
 
         return mapToResponse(booking);
@@ -188,15 +228,13 @@ public class BookingService {
 
     @Transactional(readOnly = true)
     public List<BookingResponse> getCancellationRequests() {
-        return bookingRepository.findAll()
-                .stream()
-                .filter(b -> b.getStatus() == Booking.BookingStatus.CANCELLATION_PENDING)
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return bookingResponseAssembler.toResponses(
+                bookingRepository.findRowsByStatus(Booking.BookingStatus.CANCELLATION_PENDING));
     }
 
     @Transactional
     public BookingResponse cancelBooking(String id, String reason) {
+        lockShowtimeOfBooking(id);
         Booking booking = bookingRepository.findById(Objects.requireNonNullElse(id, ""))
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
         
@@ -204,39 +242,24 @@ public class BookingService {
             throw new RuntimeException("Booking is already cancelled");
         }
 
+        BookingStatsService.Contribution before = bookingStatsService.contributionOf(booking);
         booking.setStatus(Booking.BookingStatus.CANCELLED);
         if (reason != null && !reason.isEmpty()) {
             booking.setCancellationReason(Objects.requireNonNullElse(reason, ""));
         }
 
-        List<Seat> showtimeSeats = seatRepository.findByShowtimeId(booking.getShowtime().getId());
-        for (String seatId : booking.getSeats()) {
-            Seat seat = showtimeSeats.stream()
-                    .filter(s -> seatId.equals(s.getId()))
-                    .findFirst()
-                    .orElse(null);
-            if (seat != null) {
-                seat.setIsBooked(false);
-                seat.setIsHeld(false);
-                seatRepository.save(seat);
-            }
-        }
+        int released = releaseBookedSeats(booking);
 
-        Showtime showtime = booking.getShowtime();
-        showtime.setAvailableSeats(showtime.getAvailableSeats() + booking.getSeats().size());
-        showtimeRepository.save(showtime);
+        showtimeRepository.adjustAvailableSeats(booking.getShowtime().getId(), released);
 
         booking.setRefundAmount(calculateRefund(booking));
         booking.setRefundDate(LocalDateTime.now());
 
         Booking savedBooking = bookingRepository.save(booking);
+        bookingStatsService.record(before, bookingStatsService.contributionOf(savedBooking));
 
         if (settingsService.areEmailNotificationsEnabled()) {
-            try {
-                emailService.sendCancellationConfirmation(savedBooking);
-            } catch (Exception e) {
-                System.err.println("Failed to send cancellation email: " + e.getMessage());
-            }
+            emailService.queueCancellationConfirmation(savedBooking);
         }
 
         return mapToResponse(savedBooking);
@@ -244,10 +267,7 @@ public class BookingService {
 
     @Transactional(readOnly = true)
     public List<BookingResponse> getAllBookings() {
-        return bookingRepository.findAll()
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return bookingResponseAssembler.toResponses(bookingRepository.findAllRows());
     }
 
     private Double calculateRefund(Booking booking) {
@@ -256,26 +276,17 @@ public class BookingService {
 
     @Transactional
     public void deleteBooking(String id) {
+        lockShowtimeOfBooking(id);
         Booking booking = bookingRepository.findById(Objects.requireNonNullElse(id, ""))
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-        List<Seat> showtimeSeats = seatRepository.findByShowtimeId(booking.getShowtime().getId());
-        for (String seatId : booking.getSeats()) {
-            Seat seat = showtimeSeats.stream()
-                    .filter(s -> seatId.equals(s.getId()))
-                    .findFirst()
-                    .orElse(null);
-            if (seat != null) {
-                seat.setIsBooked(false);
-                seat.setIsHeld(false);
-                seatRepository.save(seat);
-            }
+        // A cancelled booking has already given its seats back
+        if (booking.getStatus() != Booking.BookingStatus.CANCELLED) {
+            int released = releaseBookedSeats(booking);
+            showtimeRepository.adjustAvailableSeats(booking.getShowtime().getId(), released);
         }
 
-        Showtime showtime = booking.getShowtime();
-        showtime.setAvailableSeats(showtime.getAvailableSeats() + booking.getSeats().size());
-        showtimeRepository.save(showtime);
-
+        bookingStatsService.record(bookingStatsService.contributionOf(booking), null);
         bookingRepository.delete(booking);
     }
 
@@ -288,12 +299,16 @@ public class BookingService {
             throw new RuntimeException("Cannot scan cancelled booking");
         }
 
+        BookingStatsService.Contribution before = bookingStatsService.contributionOf(booking);
         booking.setStatus(Booking.BookingStatus.CONFIRMED);
-        return mapToResponse(bookingRepository.save(booking));
+        booking = bookingRepository.save(booking);
+        bookingStatsService.record(before, bookingStatsService.contributionOf(booking));
+        return mapToResponse(booking);
     }
 
     @Transactional
     public BookingResponse resignBooking(String id, List<String> newSeats) {
+        lockShowtimeOfBooking(id);
         Booking booking = bookingRepository.findById(Objects.requireNonNullElse(id, ""))
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
@@ -301,49 +316,44 @@ public class BookingService {
             throw new RuntimeException("Cannot reassign seats for cancelled booking");
         }
 
-        List<Seat> showtimeSeats = seatRepository.findByShowtimeId(booking.getShowtime().getId());
-        
-        for (String seatId : booking.getSeats()) {
-            Seat seat = showtimeSeats.stream()
-                    .filter(s -> seatId.equals(s.getId()))
-                    .findFirst()
-                    .orElse(null);
-            if (seat != null) {
-                seat.setIsBooked(false);
-                seatRepository.save(seat);
-            }
-        }
+        String showtimeId = booking.getShowtime().getId();
+        SeatInventory inventory = seatInventoryService.getInventory(showtimeId);
+        List<String> previousSeats = new ArrayList<>(booking.getSeats());
+        Set<String> releasedSeats = new HashSet<>(previousSeats);
 
         for (String seatId : newSeats) {
-            Seat seat = showtimeSeats.stream()
-                    .filter(s -> seatId.equals(s.getId()))
-                    .findFirst()
-                    .orElseThrow(() -> new RuntimeException("Seat not found: " + seatId));
-            if (seat.getIsBooked()) {
-                throw new RuntimeException("Seat " + seat.getRow() + seat.getNumber() + " is already booked");
+            int index = inventory != null ? inventory.indexOf(seatId) : -1;
+            if (index < 0) {
+                throw new RuntimeException("Seat not found: " + seatId);
+            }
+            if (inventory.isBooked(index) && !releasedSeats.contains(seatId)) {
+                throw new RuntimeException("Seat " + inventory.labelOf(index) + " is already booked");
             }
         }
 
-        Showtime showtime = booking.getShowtime();
-        int seatDifference = newSeats.size() - booking.getSeats().size();
-        showtime.setAvailableSeats(showtime.getAvailableSeats() - seatDifference);
-        showtimeRepository.save(showtime);
+        int released = seatReservationService.releaseBookedSeats(showtimeId, previousSeats);
+        int claimed = seatReservationService.claimSeats(showtimeId, newSeats, null);
+
+        showtimeRepository.adjustAvailableSeats(showtimeId, released - claimed);
 
         booking.setSeats(newSeats);
-        for (String seatId : newSeats) {
-            Seat seat = showtimeSeats.stream()
-                    .filter(s -> seatId.equals(s.getId()))
-                    .findFirst()
-                    .orElse(null);
-            if (seat != null) {
-                seat.setIsBooked(true);
-                seatRepository.save(seat);
-            }
-        }
 
         return mapToResponse(bookingRepository.save(booking));
     }
 
+    private void lockShowtimeOfBooking(String bookingId) {
+        bookingRepository.findShowtimeIdById(Objects.requireNonNullElse(bookingId, ""))
+                .ifPresent(showtimeLockManager::lockForTransaction);
+    }
+
+    private int releaseBookedSeats(Booking booking) {
+        return seatReservationService.releaseBookedSeats(booking.getShowtime().getId(), booking.getSeats());
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
     private String getScreenName(String screenId) {
         if (screenId == null || screenId.isEmpty()) {
             return "Screen";
@@ -369,8 +379,9 @@ public class BookingService {
                 .theaterLocation(theater != null ? Objects.requireNonNullElse(theater.getLocation(), "") : "")
                 .showtimeId(Objects.requireNonNullElse(showtime.getId(), ""))
                 .showtime(showtime.getShowDateTime())
-                .screen(getScreenName(showtime.getScreen()))
-                .ticketPrice(showtime.getTicketPrice())
+                .screen(booking.getScreenName() != null ? booking.getScreenName() : getScreenName(showtime.getScreen()))
+                .ticketPrice(booking.getTicketPriceSnapshot() != null
+                        ? booking.getTicketPriceSnapshot() : showtime.getTicketPrice())
                 .seats(booking.getSeats())
                 .seatLabels(booking.getSeatLabels())
                 .totalAmount(booking.getTotalAmount())
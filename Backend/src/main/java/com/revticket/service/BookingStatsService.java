@@ -0,0 +1,126 @@
+package com.revticket.service;
+
+import com.revticket.entity.Booking;
+import com.revticket.entity.Showtime;
+import com.revticket.repository.DailyBookingStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Keeps the {@code daily_booking_stats} rollup in step with bookings. Callers take the
+ * booking's {@link Contribution} before and after a change and {@link #record} applies
+ * the difference as one upsert in the same transaction. {@link #rebuild} recomputes a
+ * date range from the bookings table.
+ */
+@Service
+public class BookingStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingStatsService.class);
+
+    @Autowired
+    private DailyBookingStatsRepository dailyBookingStatsRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingStatsService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * What a booking in its current state adds to its day's row.
+     */
+    public record Contribution(LocalDate date, String theaterId, String movieId,
+                               long bookings, double revenue, long cancellations, double refunds) {
+    }
+
+    public Contribution contributionOf(Booking booking) {
+        Showtime showtime = booking.getShowtime();
+        LocalDateTime bookedAt = booking.getBookingDate() != null ? booking.getBookingDate() : LocalDateTime.now();
+        boolean confirmed = booking.getStatus() == Booking.BookingStatus.CONFIRMED;
+        boolean cancelled = booking.getStatus() == Booking.BookingStatus.CANCELLED;
+        return new Contribution(
+                bookedAt.toLocalDate(),
+                showtime.getTheater().getId(),
+                showtime.getMovie().getId(),
+                1,
+                confirmed && booking.getTotalAmount() != null ? booking.getTotalAmount() : 0.0,
+                cancelled ? 1 : 0,
+                cancelled && booking.getRefundAmount() != null ? booking.getRefundAmount() : 0.0);
+    }
+
+    /**
+     * Applies the change from {@code before} to {@code after}; pass null for a booking
+     * that did not exist before or no longer exists.
+     */
+    @Transactional
+    public void record(Contribution before, Contribution after) {
+        if (before != null && after != null && sameRow(before, after)) {
+            apply(after, after.bookings() - before.bookings(), after.revenue() - before.revenue(),
+                    after.cancellations() - before.cancellations(), after.refunds() - before.refunds());
+            return;
+        }
+        if (before != null) {
+            apply(before, -before.bookings(), -before.revenue(), -before.cancellations(), -before.refunds());
+        }
+        if (after != null) {
+            apply(after, after.bookings(), after.revenue(), after.cancellations(), after.refunds());
+        }
+    }
+
+    /**
+     * Recomputes the rows for {@code from} through {@code to} from the bookings table.
+     * Bookings already removed by the cleanup job are no longer counted afterwards.
+     */
+    @Transactional
+    public int rebuild(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        dailyBookingStatsRepository.deleteRange(from, to);
+        int rows = dailyBookingStatsRepository.insertFromBookings(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        logger.info("Rebuilt booking stats for {} to {}: {} rows", from, to, rows);
+        return rows;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (dailyBookingStatsRepository.count() > 0) {
+                    return;
+                }
+                LocalDateTime first = dailyBookingStatsRepository.findFirstBookingDate();
+                if (first != null) {
+                    rebuild(first.toLocalDate(), LocalDate.now());
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Failed to backfill booking stats", e);
+        }
+    }
+
+    private void apply(Contribution key, long bookings, double revenue, long cancellations, double refunds) {
+        if (bookings == 0 && revenue == 0 && cancellations == 0 && refunds == 0) {
+            return;
+        }
+        dailyBookingStatsRepository.increment(key.date(), key.theaterId(), key.movieId(),
+                bookings, revenue, cancellations, refunds);
+    }
+
+    private static boolean sameRow(Contribution a, Contribution b) {
+        return a.date().equals(b.date())
+                && Objects.equals(a.theaterId(), b.theaterId())
+                && Objects.equals(a.movieId(), b.movieId());
+    }
+}
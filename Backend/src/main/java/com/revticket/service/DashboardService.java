@@ -1,8 +1,7 @@
 package com.revticket.service;
 
 import com.revticket.dto.DashboardStatsDTO;
-import com.revticket.entity.Booking;
-import com.revticket.repository.BookingRepository;
+import com.revticket.repository.DailyBookingStatsRepository;
 import com.revticket.repository.MovieRepository;
 import com.revticket.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,8 +9,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
 
 @Service
 public class DashboardService {
@@ -20,33 +17,26 @@ public class DashboardService {
     private MovieRepository movieRepository;
 
     @Autowired
-    private BookingRepository bookingRepository;
+    private UserRepository userRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private DailyBookingStatsRepository dailyBookingStatsRepository;
 
     @Transactional(readOnly = true)
     public DashboardStatsDTO getDashboardStats() {
         Long totalMovies = movieRepository.count();
-        Long totalBookings = bookingRepository.count();
         Long totalUsers = userRepository.count();
 
-        Double totalRevenue = bookingRepository.findAll().stream()
-                .filter(b -> b.getStatus() == Booking.BookingStatus.CONFIRMED)
-                .mapToDouble(Booking::getTotalAmount)
-                .sum();
-
-        LocalDateTime todayStart = LocalDate.now().atStartOfDay();
-        LocalDateTime todayEnd = LocalDate.now().atTime(LocalTime.MAX);
-        Long todayBookings = bookingRepository.countByDateRange(todayStart, todayEnd);
+        // All booking totals come from the rollup, which keeps bookings the nightly cleanup purges
+        Object[] totals = dailyBookingStatsRepository.sumAll().get(0);
+        Long totalBookings = ((Number) totals[0]).longValue();
+        Double totalRevenue = ((Number) totals[1]).doubleValue();
+        Long cancelledBookings = ((Number) totals[2]).longValue();
 
-        Long cancelledBookings = bookingRepository.findAll().stream()
-                .filter(b -> b.getStatus() == Booking.BookingStatus.CANCELLED)
-                .count();
+        LocalDate today = LocalDate.now();
+        Long todayBookings = ((Number) dailyBookingStatsRepository.sumRange(today, today).get(0)[0]).longValue();
 
-        Long activeMovies = movieRepository.findAll().stream()
-                .filter(m -> m.getIsActive() != null && m.getIsActive())
-                .count();
+        Long activeMovies = movieRepository.countByIsActiveTrue();
 
         return DashboardStatsDTO.builder()
                 .totalMovies(totalMovies)
@@ -0,0 +1,142 @@
+package com.revticket.service;
+
+import com.revticket.entity.EmailOutbox;
+import com.revticket.mail.RenderedEmail;
+import com.revticket.repository.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Transactional outbox for outgoing email. Messages are written in the caller's
+ * transaction, so they are only sent if it commits, and are delivered later by
+ * {@link com.revticket.scheduler.EmailOutboxDispatcher}.
+ */
+@Service
+public class EmailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    // Length of the subject column; a longer subject must not fail the caller's transaction
+    private static final int MAX_SUBJECT_LENGTH = 255;
+
+    private static final String STALE_CLAIM_ERROR = "Claim expired before the dispatcher finished";
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Value("${app.email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.email.outbox.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${app.email.outbox.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    @Transactional
+    public void enqueue(String recipient, RenderedEmail email) {
+        if (recipient == null || recipient.isBlank()) {
+            return;
+        }
+        EmailOutbox outbox = new EmailOutbox();
+        outbox.setRecipient(recipient);
+        outbox.setSubject(truncate(email.subject(), MAX_SUBJECT_LENGTH));
+        outbox.setBody(email.text());
+        outbox.setHtmlBody(email.html());
+        outbox.setNextAttemptAt(LocalDateTime.now());
+        emailOutboxRepository.save(outbox);
+    }
+
+    /**
+     * Marks up to {@code limit} due messages as SENDING under a fresh claim token and
+     * returns them. Claims older than {@code staleAfter} are assumed to belong to a
+     * dispatcher that died; they count as a failed attempt and are put back first, or
+     * moved to DEAD once out of attempts.
+     */
+    @Transactional
+    public List<EmailOutbox> claimBatch(int limit, Duration staleAfter) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minus(staleAfter);
+        int killed = emailOutboxRepository.killStale(staleBefore, maxAttempts, STALE_CLAIM_ERROR);
+        if (killed > 0) {
+            logger.error("Moved {} emails with expired claims to dead letter after {} attempts", killed, maxAttempts);
+        }
+        emailOutboxRepository.requeueStale(staleBefore, STALE_CLAIM_ERROR);
+        List<String> ids = emailOutboxRepository.findDueIds(now, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String token = UUID.randomUUID().toString();
+        if (emailOutboxRepository.claim(ids, token, now) == 0) {
+            return List.of();
+        }
+        return emailOutboxRepository.findByClaimToken(token);
+    }
+
+    @Transactional
+    public void markSent(List<EmailOutbox> emails) {
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailOutbox email : emails) {
+            email.setStatus(EmailOutbox.Status.SENT);
+            email.setAttempts(email.getAttempts() + 1);
+            email.setSentAt(now);
+            email.setClaimToken(null);
+            email.setLastError(null);
+        }
+        emailOutboxRepository.saveAll(emails);
+    }
+
+    /**
+     * Records a failed attempt and schedules the next one with exponential backoff, or
+     * moves the message to DEAD when it is permanent or out of attempts.
+     *
+     * @return true if the message is now dead
+     */
+    @Transactional
+    public boolean markFailed(EmailOutbox email, String error, boolean permanent) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setClaimToken(null);
+        email.setLastError(truncate(error, MAX_ERROR_LENGTH));
+        boolean dead = permanent || attempts >= maxAttempts;
+        if (dead) {
+            email.setStatus(EmailOutbox.Status.DEAD);
+        } else {
+            email.setStatus(EmailOutbox.Status.PENDING);
+            email.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds(attempts)));
+        }
+        emailOutboxRepository.save(email);
+        return dead;
+    }
+
+    @Transactional
+    public int purgeSent(Duration retention) {
+        return emailOutboxRepository.deleteSentBefore(LocalDateTime.now().minus(retention));
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        // Don't split a surrogate pair
+        int end = Character.isHighSurrogate(value.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+        return value.substring(0, end);
+    }
+
+    private long backoffSeconds(int attempts) {
+        long delay = backoffBaseSeconds << Math.min(attempts - 1, 20);
+        return Math.min(delay, backoffMaxSeconds);
+    }
+}
@@ -1,8 +1,11 @@
 package com.revticket.service;
 
+import com.revticket.config.CacheConfig;
 import com.revticket.entity.Language;
 import com.revticket.repository.LanguageRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,10 +16,12 @@ public class LanguageService {
     @Autowired
     private LanguageRepository languageRepository;
 
+    @Cacheable(value = CacheConfig.LANGUAGES, key = "'active'", sync = true)
     public List<Language> getAllActiveLanguages() {
         return languageRepository.findByIsActiveTrueOrderByNameAsc();
     }
 
+    @CacheEvict(value = CacheConfig.LANGUAGES, allEntries = true)
     public Language addLanguage(String name) {
         if (languageRepository.findByName(name).isPresent()) {
             throw new RuntimeException("Language already exists");
@@ -0,0 +1,117 @@
+package com.revticket.service;
+
+import com.revticket.entity.MongoReview;
+import com.revticket.entity.MovieRating;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the per-movie {@link MovieRating} aggregate. Approvals and deletions adjust
+ * it with atomic {@code $inc} updates; {@link #rebuild()} recomputes every movie from
+ * the reviews collection in one aggregation.
+ */
+@Service
+public class MovieRatingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MovieRatingService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public void recordApproved(MongoReview review) {
+        adjust(review, 1);
+    }
+
+    public void recordRemoved(MongoReview review) {
+        adjust(review, -1);
+    }
+
+    public MovieRating getRating(String movieId) {
+        return mongoTemplate.findById(movieId, MovieRating.class);
+    }
+
+    public Double getAverage(String movieId) {
+        MovieRating rating = getRating(movieId);
+        return rating != null ? rating.getAverage() : null;
+    }
+
+    /**
+     * Average rating per movie for the given ids in one query; movies without approved
+     * reviews are absent from the result.
+     */
+    public Map<String, Double> getAverages(Collection<String> movieIds) {
+        Map<String, Double> averages = new HashMap<>();
+        if (movieIds.isEmpty()) {
+            return averages;
+        }
+        Query query = new Query(Criteria.where("_id").in(movieIds));
+        for (MovieRating rating : mongoTemplate.find(query, MovieRating.class)) {
+            if (rating.getAverage() != null) {
+                averages.put(rating.getMovieId(), rating.getAverage());
+            }
+        }
+        return averages;
+    }
+
+    /**
+     * Replaces the whole collection with totals recomputed from approved reviews.
+     */
+    public void rebuild() {
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("approved", true)
+                        .append("rating", new Document("$gte", 1).append("$lte", 5))),
+                new Document("$group", new Document("_id", new Document("movieId", "$movieId").append("rating", "$rating"))
+                        .append("n", new Document("$sum", 1))),
+                new Document("$group", new Document("_id", "$_id.movieId")
+                        .append("count", new Document("$sum", "$n"))
+                        .append("sum", new Document("$sum", new Document("$multiply", List.of("$n", "$_id.rating"))))
+                        .append("buckets", new Document("$push", new Document("k", new Document("$toString", "$_id.rating"))
+                                .append("v", new Document("$toLong", "$n"))))),
+                new Document("$project", new Document("count", new Document("$toLong", "$count"))
+                        .append("sum", new Document("$toLong", "$sum"))
+                        .append("histogram", new Document("$arrayToObject", "$buckets"))),
+                new Document("$out", mongoTemplate.getCollectionName(MovieRating.class)));
+
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(MongoReview.class))
+                .aggregate(pipeline)
+                .toCollection();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        try {
+            if (mongoTemplate.estimatedCount(MovieRating.class) == 0) {
+                rebuild();
+                logger.info("Built movie rating aggregates from reviews");
+            }
+        } catch (Exception e) {
+            logger.error("Failed to build movie rating aggregates", e);
+        }
+    }
+
+    private void adjust(MongoReview review, int direction) {
+        Integer stars = review.getRating();
+        if (review.getMovieId() == null || stars == null || stars < 1 || stars > 5) {
+            return;
+        }
+        Update update = new Update()
+                .inc("count", (long) direction)
+                .inc("sum", (long) direction * stars)
+                .inc("histogram." + stars, (long) direction);
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(review.getMovieId())), update, MovieRating.class);
+    }
+}
@@ -1,14 +1,19 @@
 package com.revticket.service;
 
+import com.revticket.config.CacheConfig;
 import com.revticket.dto.MovieDTO;
 import com.revticket.dto.MovieRequest;
 import com.revticket.entity.Movie;
 import com.revticket.repository.MovieRepository;
-import com.revticket.repository.MongoReviewRepository;
+import com.revticket.scheduling.ScreenScheduleIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -20,12 +25,17 @@ public class MovieService {
     private MovieRepository movieRepository;
 
     @Autowired
-    private MongoReviewRepository reviewRepository;
+    private MovieStatsLoader movieStatsLoader;
 
+    @Autowired
+    private ScreenScheduleIndex screenScheduleIndex;
+
+    @Cacheable(value = CacheConfig.MOVIES, key = "'active'", sync = true)
     public List<Movie> getAllMovies() {
         return movieRepository.findByIsActiveTrue();
     }
 
+    @Cacheable(value = CacheConfig.MOVIES, key = "'city:' + (#city == null ? '' : #city.trim().toLowerCase())", sync = true)
     public List<Movie> getMoviesByCity(String city) {
         if (city == null || city.trim().isEmpty()) {
             return movieRepository.findByIsActiveTrue();
@@ -34,15 +44,11 @@ public class MovieService {
     }
 
     public List<MovieDTO> getAllMoviesForAdmin() {
-        return movieRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(movieRepository.findAll());
     }
 
     public List<MovieDTO> getActiveMovies() {
-        return movieRepository.findByIsActiveTrue().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(movieRepository.findByIsActiveTrue());
     }
 
     public Optional<MovieDTO> getMovieById(String id) {
@@ -50,6 +56,11 @@ public class MovieService {
                 .map(this::convertToDTO);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.MOVIES, allEntries = true),
+            @CacheEvict(value = CacheConfig.GENRES, allEntries = true),
+            @CacheEvict(value = CacheConfig.MOVIE_LANGUAGES, allEntries = true)
+    })
     public MovieDTO createMovie(MovieRequest request) {
         Movie movie = new Movie();
         movie.setTitle(request.getTitle());
@@ -67,10 +78,16 @@ public class MovieService {
         return convertToDTO(saved);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.MOVIES, allEntries = true),
+            @CacheEvict(value = CacheConfig.GENRES, allEntries = true),
+            @CacheEvict(value = CacheConfig.MOVIE_LANGUAGES, allEntries = true)
+    })
     public MovieDTO updateMovie(String id, MovieRequest request) {
         Movie movie = movieRepository.findById(Objects.requireNonNullElse(id, ""))
                 .orElseThrow(() -> new RuntimeException("Movie not found"));
         
+        boolean durationChanged = !Objects.equals(movie.getDuration(), request.getDuration());
         movie.setTitle(request.getTitle());
         movie.setDescription(request.getDescription());
         movie.setGenre(request.getGenre());
@@ -86,9 +103,17 @@ public class MovieService {
         }
 
         Movie saved = movieRepository.save(movie);
+        if (durationChanged) {
+            screenScheduleIndex.invalidateAll();
+        }
         return convertToDTO(saved);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.MOVIES, allEntries = true),
+            @CacheEvict(value = CacheConfig.GENRES, allEntries = true),
+            @CacheEvict(value = CacheConfig.MOVIE_LANGUAGES, allEntries = true)
+    })
     public MovieDTO toggleMovieStatus(String id) {
         Movie movie = movieRepository.findById(Objects.requireNonNullElse(id, ""))
                 .orElseThrow(() -> new RuntimeException("Movie not found"));
@@ -97,6 +122,11 @@ public class MovieService {
         return convertToDTO(saved);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.MOVIES, allEntries = true),
+            @CacheEvict(value = CacheConfig.GENRES, allEntries = true),
+            @CacheEvict(value = CacheConfig.MOVIE_LANGUAGES, allEntries = true)
+    })
     public void deleteMovie(String id) {
         Movie movie = movieRepository.findById(Objects.requireNonNullElse(id, ""))
                 .orElseThrow(() -> new RuntimeException("Movie not found"));
@@ -104,6 +134,7 @@ public class MovieService {
         movieRepository.save(movie);
     }
 
+    @Cacheable(value = CacheConfig.GENRES, key = "'all'", sync = true)
     public List<String> getAllGenres() {
         return movieRepository.findAll().stream()
                 .flatMap(movie -> movie.getGenre().stream())
@@ -112,6 +143,7 @@ public class MovieService {
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(value = CacheConfig.MOVIE_LANGUAGES, key = "'all'", sync = true)
     public List<String> getAllLanguages() {
         return movieRepository.findAll().stream()
                 .map(Movie::getLanguage)
@@ -121,14 +153,26 @@ public class MovieService {
                 .collect(Collectors.toList());
     }
 
+    private List<MovieDTO> convertToDTOs(List<Movie> movies) {
+        Map<String, MovieStatsLoader.MovieStats> stats = movieStatsLoader.load(
+                movies.stream().map(Movie::getId).collect(Collectors.toList()));
+        return movies.stream()
+                .map(movie -> convertToDTO(movie, stats.get(movie.getId())))
+                .collect(Collectors.toList());
+    }
+
     private MovieDTO convertToDTO(Movie movie) {
+        return convertToDTO(movie, movieStatsLoader.load(movie.getId()));
+    }
+
+    private MovieDTO convertToDTO(Movie movie, MovieStatsLoader.MovieStats stats) {
         MovieDTO dto = new MovieDTO();
         dto.setId(movie.getId());
         dto.setTitle(movie.getTitle());
         dto.setDescription(movie.getDescription());
         dto.setGenre(movie.getGenre());
         dto.setDuration(movie.getDuration());
-        dto.setRating(calculateDynamicRating(movie.getId()));
+        dto.setRating(stats.rating());
         dto.setDirector(movie.getDirector());
         dto.setCrew(movie.getCrew());
         dto.setReleaseDate(movie.getReleaseDate());
@@ -136,18 +180,8 @@ public class MovieService {
         dto.setTrailerUrl(movie.getTrailerUrl());
         dto.setLanguage(movie.getLanguage());
         dto.setIsActive(movie.getIsActive());
-        dto.setTotalShows(movieRepository.countShowtimesByMovieId(movie.getId()));
-        dto.setTotalBookings(movieRepository.countBookingsByMovieId(movie.getId()));
+        dto.setTotalShows(stats.totalShows());
+        dto.setTotalBookings(stats.totalBookings());
         return dto;
     }
-
-    private Double calculateDynamicRating(String movieId) {
-        var reviews = reviewRepository.findByMovieIdAndApprovedTrueOrderByCreatedAtDesc(movieId);
-        if (reviews.isEmpty()) return null;
-        return reviews.stream()
-                .mapToInt(review -> review.getRating())
-                .average()
-                .orElse(0.0);
-    }
 }
-
@@ -0,0 +1,60 @@
+package com.revticket.service;
+
+import com.revticket.repository.MovieRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads listing statistics for a batch of movies with one grouped query per metric,
+ * so building a page of {@code MovieDTO}s costs three queries regardless of its size.
+ */
+@Component
+public class MovieStatsLoader {
+
+    public record MovieStats(int totalShows, int totalBookings, Double rating) {
+    }
+
+    private static final MovieStats EMPTY = new MovieStats(0, 0, null);
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieRatingService movieRatingService;
+
+    public Map<String, MovieStats> load(Collection<String> movieIds) {
+        Map<String, MovieStats> stats = new HashMap<>();
+        if (movieIds.isEmpty()) {
+            return stats;
+        }
+
+        Map<String, Integer> shows = toCounts(movieRepository.countShowtimesByMovieIds(movieIds));
+        Map<String, Integer> bookings = toCounts(movieRepository.countBookingsByMovieIds(movieIds));
+        Map<String, Double> ratings = movieRatingService.getAverages(movieIds);
+
+        for (String movieId : movieIds) {
+            stats.put(movieId, new MovieStats(
+                    shows.getOrDefault(movieId, 0),
+                    bookings.getOrDefault(movieId, 0),
+                    ratings.get(movieId)));
+        }
+        return stats;
+    }
+
+    public MovieStats load(String movieId) {
+        return load(List.of(movieId)).getOrDefault(movieId, EMPTY);
+    }
+
+    private static Map<String, Integer> toCounts(List<Object[]> rows) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((String) row[0], ((Number) row[1]).intValue());
+        }
+        return counts;
+    }
+}
@@ -3,8 +3,10 @@ package com.revticket.service;
 import com.mongodb.client.ChangeStreamIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.revticket.seating.SeatHoldsReleasedEvent;
 import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
@@ -83,6 +85,11 @@ public class NotificationService {
             "New review submitted for: " + movieTitle);
     }
 
+    @EventListener
+    public void onSeatHoldsReleased(SeatHoldsReleasedEvent event) {
+        messagingTemplate.convertAndSend("/topic/bookings", "Seat availability updated");
+    }
+
     public void notifyMaintenanceMode(boolean enabled) {
         messagingTemplate.convertAndSend("/topic/maintenance", 
             enabled ? "Maintenance mode enabled" : "Maintenance mode disabled");
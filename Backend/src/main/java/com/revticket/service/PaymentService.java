@@ -22,6 +22,9 @@ public class PaymentService {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private BookingStatsService bookingStatsService;
+
     @Transactional
     public Payment processPayment(PaymentRequest request) {
         Booking booking = bookingRepository.findById(Objects.requireNonNullElse(request.getBookingId(), ""))
@@ -37,9 +40,11 @@ public class PaymentService {
         payment = paymentRepository.save(payment);
 
         // Update booking status
+        BookingStatsService.Contribution before = bookingStatsService.contributionOf(booking);
         booking.setStatus(Booking.BookingStatus.CONFIRMED);
         booking.setPaymentId(payment.getId());
-        bookingRepository.save(booking);
+        booking = bookingRepository.save(booking);
+        bookingStatsService.record(before, bookingStatsService.contributionOf(booking));
 
         return payment;
     }
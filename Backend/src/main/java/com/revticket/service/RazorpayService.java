@@ -15,6 +15,10 @@ import com.revticket.repository.BookingRepository;
 import com.revticket.repository.PaymentRepository;
 import com.revticket.repository.ShowtimeRepository;
 import com.revticket.repository.UserRepository;
+import com.revticket.seating.SeatInventory;
+import com.revticket.seating.SeatInventoryService;
+import com.revticket.seating.SeatReservationService;
+import com.revticket.seating.ShowtimeLockManager;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -44,18 +48,27 @@ public class RazorpayService {
     @Autowired
     private UserRepository userRepository;
 
-    @Autowired
-    private com.revticket.repository.SeatRepository seatRepository;
-
     @Autowired
     private SettingsService settingsService;
 
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private BookingStatsService bookingStatsService;
+
     @Autowired
     private com.revticket.repository.ScreenRepository screenRepository;
 
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private ShowtimeLockManager showtimeLockManager;
+
     public RazorpayOrderResponse createOrder(RazorpayOrderRequest request) throws RazorpayException {
         RazorpayClient razorpayClient = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
 
@@ -91,30 +104,25 @@ public class RazorpayService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        showtimeLockManager.lockForTransaction(request.getShowtimeId());
         Showtime showtime = showtimeRepository.findById(request.getShowtimeId())
                 .orElseThrow(() -> new RuntimeException("Showtime not found"));
 
         // Book seats
-        List<com.revticket.entity.Seat> showtimeSeats = seatRepository.findByShowtimeId(request.getShowtimeId());
+        SeatInventory inventory = seatInventoryService.getInventory(request.getShowtimeId());
         for (String seatId : request.getSeats()) {
-            com.revticket.entity.Seat seat = showtimeSeats.stream()
-                    .filter(s -> seatId.equals(s.getId()))
-                    .findFirst()
-                    .orElseThrow(() -> new RuntimeException("Seat not found: " + seatId));
-
-            if (seat.getIsBooked()) {
+            int index = inventory != null ? inventory.indexOf(seatId) : -1;
+            if (index < 0) {
+                throw new RuntimeException("Seat not found: " + seatId);
+            }
+            if (inventory.isBooked(index)) {
                 throw new RuntimeException("Seat is already booked");
             }
-
-            seat.setIsBooked(true);
-            seat.setIsHeld(false);
-            seat.setHoldExpiry(null);
-            seat.setSessionId(null);
-            seatRepository.save(seat);
         }
 
-        showtime.setAvailableSeats(Math.max(0, showtime.getAvailableSeats() - request.getSeats().size()));
-        showtimeRepository.save(showtime);
+        int claimed = seatReservationService.claimSeats(request.getShowtimeId(), request.getSeats(), request.getSessionId());
+
+        showtimeRepository.adjustAvailableSeats(showtime.getId(), -claimed);
 
         // Create booking
         Booking booking = new Booking();
@@ -129,9 +137,11 @@ public class RazorpayService {
         booking.setStatus(Booking.BookingStatus.CONFIRMED);
         booking.setTicketNumber("TKT-" + System.currentTimeMillis());
         booking.setPaymentMethod("RAZORPAY");
+        booking.setTicketPriceSnapshot(showtime.getTicketPrice());
         booking.setScreenName(getScreenName(showtime.getScreen()));
 
         booking = bookingRepository.save(booking);
+        bookingStatsService.record(null, bookingStatsService.contributionOf(booking));
 
         // Create payment record
         Payment payment = new Payment();
@@ -146,19 +156,9 @@ public class RazorpayService {
 
         paymentRepository.save(payment);
 
-        // Send email notifications
         if (settingsService.areEmailNotificationsEnabled()) {
-            try {
-                System.out.println("Sending booking confirmation to: " + booking.getCustomerEmail());
-                emailService.sendBookingConfirmation(booking);
-                System.out.println("✓ Booking confirmation email sent successfully");
-                
-                emailService.sendAdminNewBookingNotification(booking);
-                System.out.println("✓ Admin notification email sent successfully");
-            } catch (Exception e) {
-                System.err.println("✗ Failed to send email notifications: " + e.getMessage());
-                e.printStackTrace();
-            }
+            emailService.queueBookingConfirmation(booking);
+            emailService.queueAdminNewBookingNotification(booking);
         }
 
         return booking;
@@ -184,6 +184,7 @@ public class RazorpayService {
                 booking.setPaymentMethod("RAZORPAY");
 
                 booking = bookingRepository.save(booking);
+                bookingStatsService.record(null, bookingStatsService.contributionOf(booking));
 
                 Payment payment = new Payment();
                 payment.setBooking(booking);
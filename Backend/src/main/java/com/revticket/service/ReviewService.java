@@ -11,6 +11,11 @@ import com.revticket.repository.MongoReviewRepository;
 import com.revticket.repository.MovieRepository;
 import com.revticket.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -35,6 +40,12 @@ public class ReviewService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private MovieRatingService movieRatingService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     public ReviewResponse addReview(String userId, ReviewRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -98,11 +109,8 @@ public class ReviewService {
     }
 
     public Double getAverageRating(String movieId) {
-        List<MongoReview> reviews = mongoReviewRepository.findByMovieIdAndApprovedTrueOrderByCreatedAtDesc(movieId);
-        return reviews.isEmpty() ? 0.0 : reviews.stream()
-                .mapToInt(MongoReview::getRating)
-                .average()
-                .orElse(0.0);
+        Double average = movieRatingService.getAverage(movieId);
+        return average != null ? average : 0.0;
     }
 
     public List<ReviewResponse> getAllPendingReviews() {
@@ -136,10 +144,16 @@ public class ReviewService {
     }
 
     public ReviewResponse approveReview(String reviewId) {
-        MongoReview review = mongoReviewRepository.findById(reviewId)
-                .orElseThrow(() -> new RuntimeException("Review not found"));
-        review.setApproved(true);
-        review = mongoReviewRepository.save(review);
+        // Flip the flag only if it is still unset, so each review is counted once
+        Query pending = new Query(Criteria.where("_id").is(reviewId).and("approved").is(false));
+        MongoReview review = mongoTemplate.findAndModify(pending, new Update().set("approved", true),
+                FindAndModifyOptions.options().returnNew(true), MongoReview.class);
+        if (review != null) {
+            movieRatingService.recordApproved(review);
+        } else {
+            review = mongoReviewRepository.findById(reviewId)
+                    .orElseThrow(() -> new RuntimeException("Review not found"));
+        }
         return new ReviewResponse(
                 review.getId(),
                 review.getUserName(),
@@ -153,7 +167,10 @@ public class ReviewService {
     }
 
     public void deleteReview(String reviewId) {
-        mongoReviewRepository.deleteById(reviewId);
+        MongoReview removed = mongoTemplate.findAndRemove(new Query(Criteria.where("_id").is(reviewId)), MongoReview.class);
+        if (removed != null && removed.isApproved()) {
+            movieRatingService.recordRemoved(removed);
+        }
     }
 
     public List<ReviewResponse> getAllReviews() {
@@ -1,12 +1,25 @@
 package com.revticket.service;
 
+import com.revticket.dto.SeatIdMap;
+import com.revticket.dto.SeatLayoutDescriptor;
+import com.revticket.dto.SeatMapSnapshot;
 import com.revticket.entity.Seat;
 import com.revticket.entity.Showtime;
 import com.revticket.repository.SeatRepository;
 import com.revticket.repository.ShowtimeRepository;
+import com.revticket.seating.PackedSeatStates;
+import com.revticket.seating.ScreenLayout;
+import com.revticket.seating.ScreenLayoutCache;
+import com.revticket.seating.SeatBatchWriter;
+import com.revticket.seating.SeatInventory;
+import com.revticket.seating.SeatInventoryService;
+import com.revticket.seating.SeatReservationService;
+import com.revticket.seating.ShowtimeLockManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -23,37 +36,70 @@ public class SeatService {
     private ShowtimeRepository showtimeRepository;
 
     @Autowired
-    private com.revticket.repository.SeatDataRepository seatDataRepository;
+    private ScreenLayoutCache screenLayoutCache;
 
     @Autowired
-    private com.revticket.repository.SeatCategoryRepository seatCategoryRepository;
+    private SeatBatchWriter seatBatchWriter;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private ShowtimeLockManager showtimeLockManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public SeatService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
-    @Transactional
     public List<Seat> getSeatsByShowtime(String showtimeId) {
-        List<Seat> seats = seatRepository.findByShowtimeId(showtimeId);
-        if (seats.isEmpty()) {
-            initializeSeatsForShowtime(showtimeId);
-            seats = seatRepository.findByShowtimeId(showtimeId);
+        SeatInventory inventory = loadInventory(showtimeId);
+        return inventory != null ? inventory.toSeats(LocalDateTime.now()) : new ArrayList<>();
+    }
+
+    public SeatMapSnapshot getSeatSnapshot(String showtimeId) {
+        SeatInventory inventory = loadInventory(showtimeId);
+        if (inventory == null) {
+            return SeatMapSnapshot.builder().showtimeId(showtimeId).seats(new ArrayList<>()).build();
         }
+        return inventory.snapshot(LocalDateTime.now());
+    }
 
-        LocalDateTime now = LocalDateTime.now();
-        List<Seat> expiredHolds = new ArrayList<>();
-        for (Seat seat : seats) {
-            if (Boolean.TRUE.equals(seat.getIsHeld()) &&
-                seat.getHoldExpiry() != null &&
-                seat.getHoldExpiry().isBefore(now)) {
-                seat.setIsHeld(false);
-                seat.setHoldExpiry(null);
-                seat.setSessionId(null);
-                expiredHolds.add(seat);
-            }
+    public SeatLayoutDescriptor getSeatLayout(String showtimeId) {
+        SeatInventory inventory = loadInventory(showtimeId);
+        if (inventory == null) {
+            throw new RuntimeException("No seats found for showtime");
+        }
+        return seatInventoryService.layoutOf(inventory);
+    }
+
+    public SeatIdMap getSeatIds(String showtimeId) {
+        SeatInventory inventory = loadInventory(showtimeId);
+        if (inventory == null) {
+            throw new RuntimeException("No seats found for showtime");
         }
+        return inventory.seatIdMap();
+    }
 
-        if (!expiredHolds.isEmpty()) {
-            seatRepository.saveAll(expiredHolds);
+    public PackedSeatStates getPackedSeatStates(String showtimeId) {
+        SeatInventory inventory = loadInventory(showtimeId);
+        if (inventory == null) {
+            throw new RuntimeException("No seats found for showtime");
         }
+        return inventory.packedStates(LocalDateTime.now());
+    }
 
-        return seats;
+    private SeatInventory loadInventory(String showtimeId) {
+        SeatInventory inventory = seatInventoryService.getInventory(showtimeId);
+        if (inventory == null) {
+            transactionTemplate.executeWithoutResult(status -> initializeSeatsForShowtime(showtimeId));
+            inventory = seatInventoryService.getInventory(showtimeId);
+        }
+        return inventory;
     }
 
     @Transactional
@@ -71,154 +117,11 @@ public class SeatService {
         Showtime showtime = showtimeRepository.findById(Objects.requireNonNullElse(showtimeId, ""))
                 .orElseThrow(() -> new RuntimeException("Showtime not found"));
 
-        String screenId = showtime.getScreen();
-        
-        // Load seat configuration from screen
-        List<com.revticket.entity.SeatData> seatDataList = seatDataRepository.findByScreenId(screenId);
-        List<com.revticket.entity.SeatCategory> categories = seatCategoryRepository.findByScreenId(screenId);
-        
-        if (seatDataList.isEmpty() || categories.isEmpty()) {
-            // Fallback: use screen's basic layout info
-            initializeSeatsFromScreenLayout(showtime, screenId);
-            return;
-        }
-        
-        // Create a map of category ID to price
-        java.util.Map<String, Double> categoryPriceMap = new java.util.HashMap<>();
-        for (com.revticket.entity.SeatCategory category : categories) {
-            categoryPriceMap.put(category.getId(), category.getPrice());
-        }
-        
-        List<Seat> seatsToSave = new ArrayList<>();
-        int enabledSeats = 0;
-        
-        for (com.revticket.entity.SeatData seatData : seatDataList) {
-            Seat seat = new Seat();
-            seat.setShowtime(showtime);
-            seat.setRow(getRowLabel(seatData.getRow()));
-            seat.setNumber(seatData.getCol() + 1);
-            seat.setIsBooked(false);
-            seat.setIsHeld(false);
-            
-            // Handle disabled seats - they exist but are marked as disabled
-            if ("disabled".equals(seatData.getStatus())) {
-                seat.setIsDisabled(true);
-                seat.setPrice(0.0);
-                seat.setType(Seat.SeatType.REGULAR);
-            } else {
-                seat.setIsDisabled(false);
-                // Get price from category
-                Double price = categoryPriceMap.get(seatData.getCategoryId());
-                seat.setPrice(price != null ? price : 100.0);
-                
-                // Determine seat type based on price
-                if (price != null) {
-                    if (price >= 250) {
-                        seat.setType(Seat.SeatType.VIP);
-                    } else if (price >= 150) {
-                        seat.setType(Seat.SeatType.PREMIUM);
-                    } else {
-                        seat.setType(Seat.SeatType.REGULAR);
-                    }
-                } else {
-                    seat.setType(Seat.SeatType.REGULAR);
-                }
-                enabledSeats++;
-            }
-            
-            seatsToSave.add(seat);
-        }
-        
-        seatRepository.saveAll(seatsToSave);
-        showtime.setTotalSeats(enabledSeats);
-        showtime.setAvailableSeats(enabledSeats);
-        showtimeRepository.save(showtime);
-    }
-    
-    private String getRowLabel(int rowIndex) {
-        return String.valueOf((char) ('A' + rowIndex));
-    }
-    
-    @Autowired
-    private com.revticket.repository.ScreenRepository screenRepository;
-    
-    private void initializeSeatsFromScreenLayout(Showtime showtime, String screenId) {
-        com.revticket.entity.Screen screen = screenRepository.findById(screenId).orElse(null);
-        
-        if (screen == null || screen.getRows() == null || screen.getSeatsPerRow() == null) {
-            initializeDefaultSeats(showtime);
-            return;
-        }
-        
-        int rows = screen.getRows();
-        int seatsPerRow = screen.getSeatsPerRow();
-        List<Seat> seatsToSave = new ArrayList<>();
-
-        for (int r = 0; r < rows; r++) {
-            String rowLabel = getRowLabel(r);
-            for (int i = 1; i <= seatsPerRow; i++) {
-                Seat seat = new Seat();
-                seat.setShowtime(showtime);
-                seat.setRow(rowLabel);
-                seat.setNumber(i);
-                seat.setIsBooked(false);
-                seat.setIsHeld(false);
-                seat.setIsDisabled(false);
-
-                // Simple pricing based on row position
-                if (r < rows / 3) {
-                    seat.setPrice(150.0);
-                    seat.setType(Seat.SeatType.REGULAR);
-                } else if (r < (rows * 2) / 3) {
-                    seat.setPrice(200.0);
-                    seat.setType(Seat.SeatType.PREMIUM);
-                } else {
-                    seat.setPrice(300.0);
-                    seat.setType(Seat.SeatType.VIP);
-                }
-                seatsToSave.add(seat);
-            }
-        }
-
-        seatRepository.saveAll(seatsToSave);
-        int totalSeats = seatsToSave.size();
-        showtime.setTotalSeats(totalSeats);
-        showtime.setAvailableSeats(totalSeats);
-        showtimeRepository.save(showtime);
-    }
-    
-    private void initializeDefaultSeats(Showtime showtime) {
-        String[] rows = { "A", "B", "C", "D", "E", "F", "G", "H" };
-        List<Seat> seatsToSave = new ArrayList<>();
-
-        for (String row : rows) {
-            for (int i = 1; i <= 12; i++) {
-                Seat seat = new Seat();
-                seat.setShowtime(showtime);
-                seat.setRow(row);
-                seat.setNumber(i);
-                seat.setIsBooked(false);
-                seat.setIsHeld(false);
-                seat.setIsDisabled(false);
-
-                if ("A".equals(row) || "B".equals(row)) {
-                    seat.setPrice(150.0);
-                    seat.setType(Seat.SeatType.REGULAR);
-                } else if ("C".equals(row) || "D".equals(row) || "E".equals(row)) {
-                    seat.setPrice(200.0);
-                    seat.setType(Seat.SeatType.PREMIUM);
-                } else {
-                    seat.setPrice(300.0);
-                    seat.setType(Seat.SeatType.VIP);
-                }
-                seatsToSave.add(seat);
-            }
-        }
-
-        seatRepository.saveAll(seatsToSave);
-        int totalSeats = seatsToSave.size();
-        showtime.setTotalSeats(totalSeats);
-        showtime.setAvailableSeats(totalSeats);
+        ScreenLayout layout = screenLayoutCache.getLayout(showtime.getScreen());
+        seatBatchWriter.insertSeats(showtime.getId(), layout.stamp(showtime));
+        seatInventoryService.evict(showtime.getId());
+        showtime.setTotalSeats(layout.getEnabledSeats());
+        showtime.setAvailableSeats(layout.getEnabledSeats());
         showtimeRepository.save(showtime);
     }
 
@@ -253,7 +156,8 @@ public class SeatService {
             }
         }
 
-        seatRepository.saveAll(seatsToSave);
+        seatBatchWriter.insertSeats(showtime.getId(), seatsToSave);
+        seatInventoryService.evict(showtime.getId());
         int totalSeats = seatsToSave.size();
         showtime.setTotalSeats(totalSeats);
         showtime.setAvailableSeats(totalSeats);
@@ -262,40 +166,23 @@ public class SeatService {
 
     @Transactional
     public void holdSeats(String showtimeId, List<String> seatIds, String sessionId) {
-        for (String seatId : seatIds) {
-            String safeSeatId = Objects.requireNonNullElse(seatId, "");
-            Seat seat = seatRepository.findById(safeSeatId)
-                    .orElseThrow(() -> new RuntimeException("Seat not found: " + seatId));
-
-            if (seat.getIsBooked()) {
-                throw new RuntimeException("Seat " + seatId + " is already booked");
-            }
-
-            seat.setIsHeld(true);
-            seat.setHoldExpiry(LocalDateTime.now().plusMinutes(10));
-            seat.setSessionId(sessionId);
-            seatRepository.save(seat);
-        }
+        showtimeLockManager.lockForTransaction(showtimeId);
+        LocalDateTime expiry = LocalDateTime.now().plusMinutes(10);
+        seatReservationService.holdSeats(showtimeId, seatIds, sessionId, expiry);
     }
 
     @Transactional
     public void releaseSeats(String showtimeId, List<String> seatIds) {
-        for (String seatId : seatIds) {
-            String safeSeatId = Objects.requireNonNullElse(seatId, "");
-            Seat seat = seatRepository.findById(safeSeatId).orElse(null);
-            if (seat != null && !seat.getIsBooked()) {
-                seat.setIsHeld(false);
-                seat.setHoldExpiry(null);
-                seat.setSessionId(null);
-                seatRepository.save(seat);
-            }
-        }
+        showtimeLockManager.lockForTransaction(showtimeId);
+        seatReservationService.releaseHolds(showtimeId, seatIds);
     }
 
     @Transactional
     public void refreshSeatsForScreen(String screenId) {
         List<Showtime> showtimes = showtimeRepository.findByScreen(screenId);
         for (Showtime showtime : showtimes) {
+            showtimeLockManager.lockForTransaction(showtime.getId());
+
             // Delete all existing seats (booked seats will be recreated with same status)
             List<Seat> existingSeats = seatRepository.findByShowtimeId(showtime.getId());
             
@@ -308,7 +195,8 @@ public class SeatService {
             }
             
             // Delete all existing seats
-            seatRepository.deleteAll(existingSeats);
+            seatRepository.deleteByShowtimeId(showtime.getId());
+            seatInventoryService.evict(showtime.getId());
             
             // Force reinitialize seats with new configuration
             initializeSeatsForShowtime(showtime.getId(), true);
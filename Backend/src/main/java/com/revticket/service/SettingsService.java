@@ -1,16 +1,25 @@
 package com.revticket.service;
 
+import com.revticket.cache.CacheInvalidationBus;
+import com.revticket.config.CacheConfig;
 import com.revticket.dto.SettingsDTO;
 import com.revticket.entity.Settings;
 import com.revticket.repository.SettingsRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class SettingsService {
@@ -18,6 +27,12 @@ public class SettingsService {
     @Autowired
     private SettingsRepository settingsRepository;
 
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private final AtomicReference<SettingsSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong modifications = new AtomicLong();
+
     private static final Map<String, String> DEFAULTS = new HashMap<>() {{
         put("siteName", "RevTicket");
         put("siteEmail", "support@revticket.com");
@@ -34,50 +49,76 @@ public class SettingsService {
         put("maintenanceMode", "false");
     }};
 
-    @Cacheable("settings")
-    @Transactional(readOnly = true)
+    @PostConstruct
+    void listenForRemoteUpdates() {
+        // Another instance saved settings: reload on next access
+        cacheInvalidationBus.subscribe(invalidation -> {
+            if (CacheConfig.SETTINGS.equals(invalidation.cacheName())) {
+                invalidate();
+            }
+        });
+    }
+
     public SettingsDTO getSettings() {
-        SettingsDTO dto = new SettingsDTO();
-        dto.setSiteName(getSetting("siteName"));
-        dto.setSiteEmail(getSetting("siteEmail"));
-        dto.setSitePhone(getSetting("sitePhone"));
-        dto.setCurrency(getSetting("currency"));
-        dto.setTimezone(getSetting("timezone"));
-        dto.setBookingCancellationHours(Integer.parseInt(getSetting("bookingCancellationHours")));
-        dto.setConvenienceFeePercent(Double.parseDouble(getSetting("convenienceFeePercent")));
-        dto.setGstPercent(Double.parseDouble(getSetting("gstPercent")));
-        dto.setMaxSeatsPerBooking(Integer.parseInt(getSetting("maxSeatsPerBooking")));
-        dto.setEnableNotifications(Boolean.parseBoolean(getSetting("enableNotifications")));
-        dto.setEnableEmailNotifications(Boolean.parseBoolean(getSetting("enableEmailNotifications")));
-        dto.setEnableSMSNotifications(Boolean.parseBoolean(getSetting("enableSMSNotifications")));
-        dto.setMaintenanceMode(Boolean.parseBoolean(getSetting("maintenanceMode")));
-        return dto;
-    }
-
-    @CacheEvict(value = "settings", allEntries = true)
+        return current().toDTO();
+    }
+
+    /**
+     * Returns the current settings, loading them with a single query when no snapshot
+     * is held. Every accessor below reads from it without touching the database.
+     */
+    public SettingsSnapshot current() {
+        SettingsSnapshot snapshot = this.snapshot.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long stamp = modifications.get();
+        SettingsSnapshot loaded = SettingsSnapshot.of(loadStored(), DEFAULTS);
+        if (modifications.get() == stamp) {
+            this.snapshot.compareAndSet(null, loaded);
+        }
+        return loaded;
+    }
+
+    // The eviction is what other instances listen for to drop their snapshot
+    @CacheEvict(value = CacheConfig.SETTINGS, allEntries = true)
     @Transactional
     public SettingsDTO updateSettings(SettingsDTO dto) {
-        saveSetting("siteName", dto.getSiteName());
-        saveSetting("siteEmail", dto.getSiteEmail());
-        saveSetting("sitePhone", dto.getSitePhone());
-        saveSetting("currency", dto.getCurrency());
-        saveSetting("timezone", dto.getTimezone());
-        saveSetting("bookingCancellationHours", String.valueOf(dto.getBookingCancellationHours()));
-        saveSetting("convenienceFeePercent", String.valueOf(dto.getConvenienceFeePercent()));
-        saveSetting("gstPercent", String.valueOf(dto.getGstPercent()));
-        saveSetting("maxSeatsPerBooking", String.valueOf(dto.getMaxSeatsPerBooking()));
-        saveSetting("enableNotifications", String.valueOf(dto.getEnableNotifications()));
-        saveSetting("enableEmailNotifications", String.valueOf(dto.getEnableEmailNotifications()));
-        saveSetting("enableSMSNotifications", String.valueOf(dto.getEnableSMSNotifications()));
-        saveSetting("maintenanceMode", String.valueOf(dto.getMaintenanceMode()));
-        return getSettings();
-    }
-
-    @Transactional(readOnly = true)
+        Map<String, String> updates = new LinkedHashMap<>();
+        updates.put("siteName", dto.getSiteName());
+        updates.put("siteEmail", dto.getSiteEmail());
+        updates.put("sitePhone", dto.getSitePhone());
+        updates.put("currency", dto.getCurrency());
+        updates.put("timezone", dto.getTimezone());
+        updates.put("bookingCancellationHours", String.valueOf(dto.getBookingCancellationHours()));
+        updates.put("convenienceFeePercent", String.valueOf(dto.getConvenienceFeePercent()));
+        updates.put("gstPercent", String.valueOf(dto.getGstPercent()));
+        updates.put("maxSeatsPerBooking", String.valueOf(dto.getMaxSeatsPerBooking()));
+        updates.put("enableNotifications", String.valueOf(dto.getEnableNotifications()));
+        updates.put("enableEmailNotifications", String.valueOf(dto.getEnableEmailNotifications()));
+        updates.put("enableSMSNotifications", String.valueOf(dto.getEnableSMSNotifications()));
+        updates.put("maintenanceMode", String.valueOf(dto.getMaintenanceMode()));
+
+        Map<String, Settings> existing = new HashMap<>();
+        for (Settings setting : settingsRepository.findAll()) {
+            existing.put(setting.getKey(), setting);
+        }
+        List<Settings> changed = new ArrayList<>(updates.size());
+        Map<String, String> stored = new HashMap<>();
+        existing.forEach((key, setting) -> stored.put(key, setting.getValue()));
+        updates.forEach((key, value) -> {
+            Settings setting = existing.getOrDefault(key, new Settings(null, key, value, null));
+            setting.setValue(value);
+            changed.add(setting);
+            stored.put(key, value);
+        });
+        settingsRepository.saveAll(changed);
+        replaceAfterCommit();
+        return SettingsSnapshot.of(stored, DEFAULTS).toDTO();
+    }
+
     public String getSetting(String key) {
-        return settingsRepository.findByKey(key)
-                .map(Settings::getValue)
-                .orElse(DEFAULTS.getOrDefault(key, ""));
+        return current().get(key);
     }
 
     @Transactional
@@ -86,45 +127,66 @@ public class SettingsService {
                 .orElse(new Settings(null, key, value, null));
         setting.setValue(value);
         settingsRepository.save(setting);
+        replaceAfterCommit();
     }
 
-    @Transactional(readOnly = true)
     public boolean isMaintenanceMode() {
-        return Boolean.parseBoolean(getSetting("maintenanceMode"));
+        return current().maintenanceMode();
     }
 
-    @Transactional(readOnly = true)
     public int getCancellationWindowHours() {
-        return Integer.parseInt(getSetting("bookingCancellationHours"));
+        return current().bookingCancellationHours();
     }
 
-    @Transactional(readOnly = true)
     public int getMaxSeatsPerBooking() {
-        return Integer.parseInt(getSetting("maxSeatsPerBooking"));
+        return current().maxSeatsPerBooking();
     }
 
-    @Transactional(readOnly = true)
     public double getConvenienceFeePercent() {
-        return Double.parseDouble(getSetting("convenienceFeePercent"));
+        return current().convenienceFeePercent();
     }
 
-    @Transactional(readOnly = true)
     public double getGstPercent() {
-        return Double.parseDouble(getSetting("gstPercent"));
+        return current().gstPercent();
     }
 
-    @Transactional(readOnly = true)
     public boolean areNotificationsEnabled() {
-        return Boolean.parseBoolean(getSetting("enableNotifications"));
+        return current().enableNotifications();
     }
 
-    @Transactional(readOnly = true)
     public boolean areEmailNotificationsEnabled() {
-        return areNotificationsEnabled() && Boolean.parseBoolean(getSetting("enableEmailNotifications"));
+        SettingsSnapshot settings = current();
+        return settings.enableNotifications() && settings.enableEmailNotifications();
     }
 
-    @Transactional(readOnly = true)
     public boolean areSMSNotificationsEnabled() {
-        return areNotificationsEnabled() && Boolean.parseBoolean(getSetting("enableSMSNotifications"));
+        SettingsSnapshot settings = current();
+        return settings.enableNotifications() && settings.enableSMSNotifications();
+    }
+
+    private Map<String, String> loadStored() {
+        Map<String, String> stored = new HashMap<>();
+        for (Settings setting : settingsRepository.findAll()) {
+            stored.put(setting.getKey(), setting.getValue());
+        }
+        return stored;
+    }
+
+    private void invalidate() {
+        modifications.incrementAndGet();
+        snapshot.set(null);
+    }
+
+    private void replaceAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
     }
 }
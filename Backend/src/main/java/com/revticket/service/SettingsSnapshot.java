@@ -0,0 +1,86 @@
+package com.revticket.service;
+
+import com.revticket.dto.SettingsDTO;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable, parsed view of every setting. Values that are missing or fail to parse
+ * fall back to the defaults.
+ */
+public record SettingsSnapshot(
+        Map<String, String> values,
+        String siteName,
+        String siteEmail,
+        String sitePhone,
+        String currency,
+        String timezone,
+        int bookingCancellationHours,
+        double convenienceFeePercent,
+        double gstPercent,
+        int maxSeatsPerBooking,
+        boolean enableNotifications,
+        boolean enableEmailNotifications,
+        boolean enableSMSNotifications,
+        boolean maintenanceMode) {
+
+    static SettingsSnapshot of(Map<String, String> stored, Map<String, String> defaults) {
+        Map<String, String> values = new HashMap<>(defaults);
+        values.putAll(stored);
+        Parser parser = new Parser(values, defaults);
+        return new SettingsSnapshot(
+                Collections.unmodifiableMap(values),
+                parser.string("siteName"),
+                parser.string("siteEmail"),
+                parser.string("sitePhone"),
+                parser.string("currency"),
+                parser.string("timezone"),
+                parser.integer("bookingCancellationHours"),
+                parser.decimal("convenienceFeePercent"),
+                parser.decimal("gstPercent"),
+                parser.integer("maxSeatsPerBooking"),
+                parser.bool("enableNotifications"),
+                parser.bool("enableEmailNotifications"),
+                parser.bool("enableSMSNotifications"),
+                parser.bool("maintenanceMode"));
+    }
+
+    public String get(String key) {
+        return values.getOrDefault(key, "");
+    }
+
+    public SettingsDTO toDTO() {
+        return new SettingsDTO(siteName, siteEmail, sitePhone, currency, timezone,
+                bookingCancellationHours, convenienceFeePercent, gstPercent, maxSeatsPerBooking,
+                enableNotifications, enableEmailNotifications, enableSMSNotifications, maintenanceMode);
+    }
+
+    private record Parser(Map<String, String> values, Map<String, String> defaults) {
+
+        String string(String key) {
+            return values.getOrDefault(key, "");
+        }
+
+        int integer(String key) {
+            try {
+                return Integer.parseInt(values.get(key).trim());
+            } catch (RuntimeException e) {
+                return Integer.parseInt(defaults.get(key));
+            }
+        }
+
+        double decimal(String key) {
+            try {
+                return Double.parseDouble(values.get(key).trim());
+            } catch (RuntimeException e) {
+                return Double.parseDouble(defaults.get(key));
+            }
+        }
+
+        boolean bool(String key) {
+            return Boolean.parseBoolean(values.get(key));
+        }
+    }
+}
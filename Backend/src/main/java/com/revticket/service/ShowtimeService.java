@@ -1,28 +1,51 @@
 package com.revticket.service;
 
+import com.revticket.config.CacheConfig;
+import com.revticket.dto.BulkShowtimeRequest;
+import com.revticket.dto.ConflictCheckRequest;
+import com.revticket.dto.ConflictCheckResult;
 import com.revticket.dto.ShowtimeRequest;
 import com.revticket.dto.ShowtimeResponse;
 import com.revticket.entity.Movie;
+import com.revticket.entity.Seat;
 import com.revticket.entity.Showtime;
 import com.revticket.entity.Theater;
 import com.revticket.repository.MovieRepository;
 import com.revticket.repository.ShowtimeRepository;
 import com.revticket.repository.TheaterRepository;
+import com.revticket.scheduling.ScheduleSlot;
+import com.revticket.scheduling.ScreenScheduleIndex;
+import com.revticket.seating.ScreenLayout;
+import com.revticket.seating.ScreenLayoutCache;
+import com.revticket.seating.SeatBatchWriter;
+import com.revticket.seating.SeatInventoryService;
+import com.revticket.seating.ShowtimeLockManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class ShowtimeService {
 
+    private static final int MAX_BULK_SHOWTIMES = 2000;
+
     @Autowired
     private ShowtimeRepository showtimeRepository;
 
@@ -35,6 +58,21 @@ public class ShowtimeService {
     @Autowired
     private SeatService seatService;
 
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private ScreenLayoutCache screenLayoutCache;
+
+    @Autowired
+    private SeatBatchWriter seatBatchWriter;
+
+    @Autowired
+    private ScreenScheduleIndex screenScheduleIndex;
+
+    @Autowired
+    private ShowtimeLockManager showtimeLockManager;
+
     @Transactional(readOnly = true)
     public List<ShowtimeResponse> getAllShowtimes() {
         return showtimeRepository.findAllByOrderByShowDateTimeAsc()
@@ -128,6 +166,8 @@ public class ShowtimeService {
         return showtimeRepository.findWithRelationsById(id).map(this::mapToResponse);
     }
 
+    // The per-city movie listing is derived from active showtimes
+    @CacheEvict(value = CacheConfig.MOVIES, allEntries = true)
     @Transactional
     public ShowtimeResponse createShowtime(ShowtimeRequest request) {
         Movie movie = movieRepository.findById(Objects.requireNonNullElse(request.getMovieId(), ""))
@@ -135,9 +175,13 @@ public class ShowtimeService {
         Theater theater = theaterRepository.findById(Objects.requireNonNullElse(request.getTheaterId(), ""))
                 .orElseThrow(() -> new RuntimeException("Theater not found"));
 
+        lockScreens(Arrays.asList(request.getScreen()));
+        rejectConflict(request, movie, null);
+
         Showtime showtime = new Showtime();
         applyRequest(showtime, request, movie, theater, true);
         Showtime saved = showtimeRepository.save(showtime);
+        screenScheduleIndex.showtimeAdded(saved.getId(), saved.getScreen(), saved.getShowDateTime(), movie.getDuration());
         
         if (request.getSeatLayout() != null && !request.getSeatLayout().isEmpty()) {
             seatService.initializeSeatsWithLayout(saved.getId(), request.getSeatLayout());
@@ -148,6 +192,95 @@ public class ShowtimeService {
         return mapToResponse(saved);
     }
 
+    /**
+     * Creates one showtime per screen, matching date and time slot in a single
+     * transaction. Conflicts with existing shows and within the batch are checked
+     * against the in-memory screen schedule while the screens are locked; if any are
+     * found nothing is created.
+     */
+    @CacheEvict(value = CacheConfig.MOVIES, allEntries = true)
+    @Transactional
+    public List<ShowtimeResponse> createShowtimesBulk(BulkShowtimeRequest request) {
+        Movie movie = movieRepository.findById(Objects.requireNonNullElse(request.getMovieId(), ""))
+                .orElseThrow(() -> new RuntimeException("Movie not found"));
+        Theater theater = theaterRepository.findById(Objects.requireNonNullElse(request.getTheaterId(), ""))
+                .orElseThrow(() -> new RuntimeException("Theater not found"));
+
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("End date cannot be before start date");
+        }
+
+        Set<DayOfWeek> days = request.getDaysOfWeek() == null || request.getDaysOfWeek().isEmpty()
+                ? EnumSet.allOf(DayOfWeek.class)
+                : EnumSet.copyOf(request.getDaysOfWeek());
+        List<String> screens = request.getScreens().stream().distinct().toList();
+        List<LocalTime> timeSlots = request.getTimeSlots().stream().distinct().sorted().toList();
+
+        List<Showtime> planned = new ArrayList<>();
+        for (LocalDate date = request.getStartDate(); !date.isAfter(request.getEndDate()); date = date.plusDays(1)) {
+            if (!days.contains(date.getDayOfWeek())) {
+                continue;
+            }
+            for (String screen : screens) {
+                for (LocalTime slot : timeSlots) {
+                    Showtime showtime = new Showtime();
+                    showtime.setMovie(movie);
+                    showtime.setTheater(theater);
+                    showtime.setScreen(screen);
+                    showtime.setShowDateTime(date.atTime(slot));
+                    showtime.setTicketPrice(request.getTicketPrice());
+                    showtime.setStatus(request.getStatus() != null ? request.getStatus() : Showtime.ShowStatus.ACTIVE);
+                    planned.add(showtime);
+                }
+            }
+            if (planned.size() > MAX_BULK_SHOWTIMES) {
+                throw new RuntimeException("Cannot schedule more than " + MAX_BULK_SHOWTIMES + " showtimes at once");
+            }
+        }
+        if (planned.isEmpty()) {
+            throw new RuntimeException("No showtimes match the requested schedule");
+        }
+
+        lockScreens(screens);
+        int duration = screenScheduleIndex.durationOf(movie.getDuration());
+        List<ScheduleSlot> slots = planned.stream()
+                .map(show -> new ScheduleSlot(show.getScreen(), show.getShowDateTime(), duration, null))
+                .toList();
+        List<List<String>> slotConflicts = screenScheduleIndex.findConflicts(slots);
+        List<String> conflicts = new ArrayList<>();
+        for (int i = 0; i < planned.size(); i++) {
+            if (!slotConflicts.get(i).isEmpty()) {
+                conflicts.add(planned.get(i).getScreen() + " at " + planned.get(i).getShowDateTime());
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            String listed = String.join(", ", conflicts.subList(0, Math.min(conflicts.size(), 20)));
+            throw new RuntimeException("Showtime conflicts: " + listed
+                    + (conflicts.size() > 20 ? " and " + (conflicts.size() - 20) + " more" : ""));
+        }
+
+        Map<String, ScreenLayout> layouts = new HashMap<>();
+        for (Showtime showtime : planned) {
+            ScreenLayout layout = layouts.computeIfAbsent(showtime.getScreen(), screenLayoutCache::getLayout);
+            showtime.setTotalSeats(layout.getEnabledSeats());
+            showtime.setAvailableSeats(layout.getEnabledSeats());
+        }
+
+        List<Showtime> saved = showtimeRepository.saveAll(planned);
+        List<Seat> seats = new ArrayList<>();
+        for (Showtime showtime : saved) {
+            seats.addAll(layouts.get(showtime.getScreen()).stamp(showtime));
+            screenScheduleIndex.showtimeAdded(showtime.getId(), showtime.getScreen(),
+                    showtime.getShowDateTime(), movie.getDuration());
+        }
+        seatBatchWriter.insertSeats(seats);
+
+        return saved.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @CacheEvict(value = CacheConfig.MOVIES, allEntries = true)
     @Transactional
     public ShowtimeResponse updateShowtime(String id, ShowtimeRequest request) {
         Showtime showtime = showtimeRepository.findById(Objects.requireNonNullElse(id, ""))
@@ -158,17 +291,27 @@ public class ShowtimeService {
         Theater theater = theaterRepository.findById(Objects.requireNonNullElse(request.getTheaterId(), ""))
                 .orElseThrow(() -> new RuntimeException("Theater not found"));
 
+        lockScreens(Arrays.asList(showtime.getScreen(), request.getScreen()));
+        rejectConflict(request, movie, showtime.getId());
+
+        screenScheduleIndex.showtimeRemoved(showtime.getId(), showtime.getScreen(), showtime.getShowDateTime());
         applyRequest(showtime, request, movie, theater, false);
-        return mapToResponse(showtimeRepository.save(showtime));
+        Showtime saved = showtimeRepository.save(showtime);
+        screenScheduleIndex.showtimeAdded(saved.getId(), saved.getScreen(), saved.getShowDateTime(), movie.getDuration());
+        return mapToResponse(saved);
     }
 
+    @CacheEvict(value = CacheConfig.MOVIES, allEntries = true)
     @Transactional
     public void deleteShowtime(String id) {
         Showtime showtime = showtimeRepository.findById(Objects.requireNonNullElse(id, ""))
                 .orElseThrow(() -> new RuntimeException("Showtime not found"));
         showtimeRepository.delete(showtime);
+        seatInventoryService.evict(showtime.getId());
+        screenScheduleIndex.showtimeRemoved(showtime.getId(), showtime.getScreen(), showtime.getShowDateTime());
     }
 
+    @CacheEvict(value = CacheConfig.MOVIES, allEntries = true)
     @Transactional
     public ShowtimeResponse toggleShowtimeStatus(String id) {
         Showtime showtime = showtimeRepository.findById(Objects.requireNonNullElse(id, ""))
@@ -217,21 +360,66 @@ public class ShowtimeService {
         // If updating and status not provided, keep existing status
     }
 
-    public boolean checkShowtimeConflict(String screenId, LocalDateTime showDateTime, String excludeShowId) {
-        // Check if there's any showtime on the same screen within 3 hours window
-        LocalDateTime startWindow = showDateTime.minusHours(3);
-        LocalDateTime endWindow = showDateTime.plusHours(3);
-        
-        List<Showtime> conflictingShows = showtimeRepository.findByScreenAndShowDateTimeBetween(
-                screenId, startWindow, endWindow);
-        
-        if (excludeShowId != null) {
-            conflictingShows = conflictingShows.stream()
-                    .filter(show -> !show.getId().equals(excludeShowId))
-                    .collect(Collectors.toList());
+    /**
+     * Checks whether a show starting at {@code showDateTime} would overlap another show
+     * on the screen, using the movie's running time plus the cleaning buffer. Without
+     * a movie the default running time is assumed.
+     */
+    public boolean checkShowtimeConflict(String screenId, LocalDateTime showDateTime, String excludeShowId, String movieId) {
+        return !screenScheduleIndex.findConflicts(toSlot(screenId, showDateTime, excludeShowId, movieId)).isEmpty();
+    }
+
+    public List<ConflictCheckResult> checkShowtimeConflicts(List<ConflictCheckRequest> requests) {
+        Set<String> movieIds = requests.stream()
+                .map(ConflictCheckRequest::getMovieId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Integer> durations = new HashMap<>();
+        for (Movie movie : movieRepository.findAllById(movieIds)) {
+            durations.put(movie.getId(), movie.getDuration());
         }
-        
-        return !conflictingShows.isEmpty();
+
+        List<ScheduleSlot> slots = requests.stream()
+                .map(request -> new ScheduleSlot(request.getScreenId(), request.getShowDateTime(),
+                        screenScheduleIndex.durationOf(durations.get(request.getMovieId())),
+                        request.getExcludeShowId()))
+                .toList();
+        List<List<String>> conflicts = screenScheduleIndex.findConflicts(slots);
+
+        List<ConflictCheckResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(ConflictCheckResult.builder()
+                    .screenId(requests.get(i).getScreenId())
+                    .showDateTime(requests.get(i).getShowDateTime())
+                    .conflict(!conflicts.get(i).isEmpty())
+                    .conflictingShowtimeIds(conflicts.get(i))
+                    .build());
+        }
+        return results;
+    }
+
+    // Held until the transaction completes, after the schedule index has applied the change
+    private void lockScreens(Collection<String> screens) {
+        showtimeLockManager.lockScreensForTransaction(screens);
+    }
+
+    private void rejectConflict(ShowtimeRequest request, Movie movie, String excludeShowId) {
+        if (request.getScreen() == null || request.getShowDateTime() == null) {
+            return;
+        }
+        List<String> conflicts = screenScheduleIndex.findConflicts(new ScheduleSlot(request.getScreen(),
+                request.getShowDateTime(), screenScheduleIndex.durationOf(movie.getDuration()), excludeShowId));
+        if (!conflicts.isEmpty()) {
+            throw new RuntimeException("Showtime conflicts with " + String.join(", ", conflicts)
+                    + " on screen " + request.getScreen());
+        }
+    }
+
+    private ScheduleSlot toSlot(String screenId, LocalDateTime showDateTime, String excludeShowId, String movieId) {
+        Integer duration = movieId != null
+                ? movieRepository.findById(movieId).map(Movie::getDuration).orElse(null)
+                : null;
+        return new ScheduleSlot(screenId, showDateTime, screenScheduleIndex.durationOf(duration), excludeShowId);
     }
 
     private ShowtimeResponse mapToResponse(Showtime showtime) {
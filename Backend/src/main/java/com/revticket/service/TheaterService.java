@@ -1,10 +1,14 @@
 package com.revticket.service;
 
+import com.revticket.config.CacheConfig;
 import com.revticket.dto.TheaterRequest;
 import com.revticket.dto.TheaterResponse;
 import com.revticket.entity.Theater;
 import com.revticket.repository.TheaterRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +23,7 @@ public class TheaterService {
     @Autowired
     private TheaterRepository theaterRepository;
 
+    @Cacheable(value = CacheConfig.THEATERS, key = "'all:' + #activeOnly", sync = true)
     @Transactional(readOnly = true)
     public List<TheaterResponse> getAllTheaters(boolean activeOnly) {
         List<Theater> theaters = activeOnly
@@ -29,6 +34,7 @@ public class TheaterService {
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(value = CacheConfig.THEATERS, key = "'city:' + #city + ':' + #activeOnly", sync = true)
     @Transactional(readOnly = true)
     public List<TheaterResponse> getTheatersByCity(String city, boolean activeOnly) {
         List<Theater> theaters = activeOnly
@@ -44,6 +50,11 @@ public class TheaterService {
         return theaterRepository.findById(Objects.requireNonNullElse(id, "")).map(this::mapToResponse);
     }
 
+    // Theater location and status also decide which movies are listed per city
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.THEATERS, allEntries = true),
+            @CacheEvict(value = CacheConfig.MOVIES, allEntries = true)
+    })
     @Transactional
     public TheaterResponse createTheater(TheaterRequest request) {
         Theater theater = new Theater();
@@ -51,6 +62,10 @@ public class TheaterService {
         return mapToResponse(theaterRepository.save(theater));
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.THEATERS, allEntries = true),
+            @CacheEvict(value = CacheConfig.MOVIES, allEntries = true)
+    })
     @Transactional
     public TheaterResponse updateTheater(String id, TheaterRequest request) {
         Theater theater = theaterRepository.findById(Objects.requireNonNullElse(id, ""))
@@ -59,6 +74,10 @@ public class TheaterService {
         return mapToResponse(theaterRepository.save(theater));
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.THEATERS, allEntries = true),
+            @CacheEvict(value = CacheConfig.MOVIES, allEntries = true)
+    })
     @Transactional
     public TheaterResponse updateTheaterStatus(String id, boolean isActive) {
         Theater theater = theaterRepository.findById(Objects.requireNonNullElse(id, ""))
@@ -67,6 +86,10 @@ public class TheaterService {
         return mapToResponse(theaterRepository.save(theater));
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.THEATERS, allEntries = true),
+            @CacheEvict(value = CacheConfig.MOVIES, allEntries = true)
+    })
     @Transactional
     public void deleteTheater(String id) {
         Theater theater = theaterRepository.findById(Objects.requireNonNullElse(id, ""))
@@ -0,0 +1,81 @@
+package com.revticket.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Writes CSV rows straight to a {@link Writer}, quoting text fields and escaping
+ * embedded quotes without building per-row strings.
+ */
+public class CsvWriter {
+
+    private final Writer out;
+    private boolean firstField = true;
+
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    public CsvWriter text(String value) throws IOException {
+        separator();
+        out.write('"');
+        if (value != null) {
+            int start = 0;
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) == '"') {
+                    out.write(value, start, i - start + 1);
+                    out.write('"');
+                    start = i + 1;
+                }
+            }
+            out.write(value, start, value.length() - start);
+        }
+        out.write('"');
+        return this;
+    }
+
+    public CsvWriter date(TemporalAccessor value, DateTimeFormatter formatter) throws IOException {
+        separator();
+        out.write('"');
+        if (value != null) {
+            formatter.formatTo(value, out);
+        }
+        out.write('"');
+        return this;
+    }
+
+    /**
+     * Writes an amount with two decimals, as {@code %.2f} would for values in the
+     * ticketing range.
+     */
+    public CsvWriter amount(double value) throws IOException {
+        separator();
+        long cents = Math.round(value * 100);
+        if (cents < 0) {
+            out.write('-');
+            cents = -cents;
+        }
+        out.write(Long.toString(cents / 100));
+        out.write('.');
+        long fraction = cents % 100;
+        if (fraction < 10) {
+            out.write('0');
+        }
+        out.write(Long.toString(fraction));
+        return this;
+    }
+
+    public void endRow() throws IOException {
+        out.write('\n');
+        firstField = true;
+    }
+
+    private void separator() throws IOException {
+        if (!firstField) {
+            out.write(',');
+        }
+        firstField = false;
+    }
+}
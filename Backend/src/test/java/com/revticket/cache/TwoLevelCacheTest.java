@@ -0,0 +1,109 @@
+package com.revticket.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.revticket.entity.Movie;
+import org.hibernate.collection.spi.PersistentBag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoLevelCacheTest {
+
+    private static class MapStore implements SharedCacheStore {
+
+        final Map<String, byte[]> entries = new ConcurrentHashMap<>();
+
+        @Override
+        public byte[] get(String cacheName, String key) {
+            return entries.get(key);
+        }
+
+        @Override
+        public void put(String cacheName, String key, byte[] value, Duration ttl) {
+            entries.put(key, value);
+        }
+
+        @Override
+        public void evict(String cacheName, String key) {
+            entries.remove(key);
+        }
+
+        @Override
+        public void clear(String cacheName) {
+            entries.clear();
+        }
+    }
+
+    private final MapStore store = new MapStore();
+    private final TwoLevelCache cache = newCache(store);
+
+    @Test
+    void sharedEntriesOutsideTheAllowListAreDiscarded() throws IOException {
+        store.put("movies", "big", serialize(BigInteger.TEN), Duration.ofMinutes(1));
+        store.put("movies", "list", serialize(new ArrayList<>(List.of("a", "b"))), Duration.ofMinutes(1));
+
+        assertThat(cache.get("big")).isNull();
+        assertThat(cache.get("list").get()).isEqualTo(List.of("a", "b"));
+    }
+
+    @Test
+    void hibernateCollectionsAreSharedAsPlainCollections() {
+        Movie movie = new Movie();
+        movie.setId("m1");
+        movie.setTitle("Heat");
+        movie.setGenre(new PersistentBag<>(null, List.of("Crime", "Drama")));
+        cache.put("m1", movie);
+
+        Movie shared = (Movie) newCache(store).get("m1").get();
+
+        assertThat(shared.getTitle()).isEqualTo("Heat");
+        assertThat(shared.getGenre()).isInstanceOf(ArrayList.class).containsExactly("Crime", "Drama");
+    }
+
+    @Test
+    void loadOverlappingAnInvalidationIsNotCached() {
+        String value = cache.get("active", () -> {
+            // another instance evicts while this load is still reading the database
+            cache.invalidateLocal("active");
+            return "stale";
+        });
+
+        assertThat(value).isEqualTo("stale");
+        assertThat(store.entries).doesNotContainKey("active");
+        assertThat(cache.getNativeCache().getIfPresent("active")).isNull();
+
+        assertThat(cache.get("active", () -> "fresh")).isEqualTo("fresh");
+        assertThat(store.entries).containsKey("active");
+    }
+
+    @Test
+    void localOnlyStoreKeepsValuesInL1() {
+        TwoLevelCache localOnly = newCache(new LocalOnlySharedCacheStore());
+        localOnly.put("k", "v");
+
+        assertThat(localOnly.get("k").get()).isEqualTo("v");
+    }
+
+    private static TwoLevelCache newCache(SharedCacheStore store) {
+        return new TwoLevelCache("movies", Caffeine.newBuilder().maximumSize(100).build(), store,
+                new InMemoryCacheInvalidationBus(), "node", Duration.ofMinutes(1));
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,88 @@
+package com.revticket.controller;
+
+import com.revticket.dto.ScreenConfigDTO;
+import com.revticket.dto.SeatDataDTO;
+import com.revticket.entity.Theater;
+import com.revticket.repository.SeatDataRepository;
+import com.revticket.repository.TheaterRepository;
+import com.revticket.seating.ScreenLayoutCache;
+import com.revticket.seating.SeatBatchWriter;
+import com.revticket.service.ScreenService;
+import com.revticket.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every screen's seat map uses the same client seat ids ("A1", "A2", ...), so
+ * creating and updating several screens must not collide on the seat_data key.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ AdminScreenController.class, SeatBatchWriter.class })
+class AdminScreenControllerTest {
+
+    @Autowired
+    private AdminScreenController adminScreenController;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private SeatDataRepository seatDataRepository;
+
+    @MockBean
+    private ScreenService screenService;
+
+    @MockBean
+    private ScreenLayoutCache screenLayoutCache;
+
+    @Test
+    void screensWithTheSameSeatMapKeepTheirOwnSeats() {
+        Theater theater = theaterRepository.save(TestData.theater("Twin Hall"));
+
+        String first = adminScreenController.createScreen(screen(theater, "Screen 1", 3, 10)).getBody().getId();
+        String second = adminScreenController.createScreen(screen(theater, "Screen 2", 3, 10)).getBody().getId();
+
+        assertThat(seatDataRepository.findByScreenId(first)).hasSize(30);
+        assertThat(seatDataRepository.findByScreenId(second)).hasSize(30);
+
+        ScreenConfigDTO smaller = screen(theater, "Screen 2", 2, 10);
+        adminScreenController.updateScreen(second, smaller);
+
+        assertThat(seatDataRepository.findByScreenId(first)).hasSize(30);
+        assertThat(seatDataRepository.findByScreenId(second)).hasSize(20);
+        assertThat(adminScreenController.getScreenById(second).getBody().getSeatMap())
+                .extracting(SeatDataDTO::getSeatId)
+                .contains("A1", "B10");
+    }
+
+    private static ScreenConfigDTO screen(Theater theater, String name, int rows, int seatsPerRow) {
+        List<SeatDataDTO> seatMap = new ArrayList<>(rows * seatsPerRow);
+        for (int row = 0; row < rows; row++) {
+            String rowLabel = String.valueOf((char) ('A' + row));
+            for (int col = 0; col < seatsPerRow; col++) {
+                seatMap.add(new SeatDataDTO(rowLabel + (col + 1), rowLabel + (col + 1), row, col, null, "available"));
+            }
+        }
+
+        ScreenConfigDTO config = new ScreenConfigDTO();
+        config.setName(name);
+        config.setTheatreId(theater.getId());
+        config.setRows(rows);
+        config.setSeatsPerRow(seatsPerRow);
+        config.setTotalSeats(rows * seatsPerRow);
+        config.setSeatMap(seatMap);
+        return config;
+    }
+}
@@ -0,0 +1,200 @@
+package com.revticket.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends a notification burst from several threads through a plain
+ * {@link JavaMailSenderImpl} and through {@link PooledJavaMailSender}, against a local
+ * fake SMTP server that charges {@value #HANDSHAKE_MILLIS} ms per new connection to
+ * stand in for STARTTLS and AUTH. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class PooledJavaMailSenderBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledJavaMailSenderBenchmark.class);
+
+    private static final long HANDSHAKE_MILLIS = 30;
+    private static final int MESSAGES = 400;
+    private static final int THREADS = 8;
+    private static final int POOL_SIZE = 4;
+
+    private FakeSmtpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new FakeSmtpServer(HANDSHAKE_MILLIS);
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void pooledSenderReusesConnections() throws Exception {
+        JavaMailSenderImpl plain = new JavaMailSenderImpl();
+        configure(plain);
+        Result unpooled = burst(plain);
+
+        PooledJavaMailSender pooled = new PooledJavaMailSender(POOL_SIZE, 60_000, 1000, 30_000);
+        configure(pooled);
+        Result reused;
+        try {
+            reused = burst(pooled);
+        } finally {
+            pooled.destroy();
+        }
+
+        logger.info("{} messages from {} threads: plain {} ms over {} connections ({} msg/s), "
+                        + "pooled {} ms over {} connections ({} msg/s)",
+                MESSAGES, THREADS, unpooled.millis(), unpooled.connections(), unpooled.perSecond(),
+                reused.millis(), reused.connections(), reused.perSecond());
+
+        assertThat(unpooled.delivered()).isEqualTo(MESSAGES);
+        assertThat(reused.delivered()).isEqualTo(MESSAGES);
+        assertThat(reused.connections()).isLessThanOrEqualTo(POOL_SIZE);
+        assertThat(reused.millis()).isLessThan(unpooled.millis());
+    }
+
+    private record Result(long millis, int connections, int delivered) {
+        long perSecond() {
+            return delivered * 1000L / Math.max(millis, 1);
+        }
+    }
+
+    private void configure(JavaMailSenderImpl sender) {
+        sender.setHost("127.0.0.1");
+        sender.setPort(server.port());
+    }
+
+    private Result burst(JavaMailSenderImpl sender) throws InterruptedException {
+        server.reset();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        long started = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            int n = i;
+            pool.submit(() -> {
+                start.await();
+                SimpleMailMessage message = new SimpleMailMessage();
+                message.setFrom("noreply@revticket.com");
+                message.setTo("guest" + n + "@example.com");
+                message.setSubject("Showtime cancelled");
+                message.setText("Your booking has been cancelled and refunded.");
+                sender.send(message);
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        return new Result(millis, server.connections.get(), server.delivered.get());
+    }
+
+    /**
+     * Minimal SMTP responder: accepts everything and counts connections and messages.
+     */
+    private static class FakeSmtpServer implements AutoCloseable {
+
+        final AtomicInteger connections = new AtomicInteger();
+        final AtomicInteger delivered = new AtomicInteger();
+
+        private final ServerSocket socket;
+        private final ExecutorService workers = Executors.newCachedThreadPool();
+        private final long handshakeMillis;
+
+        FakeSmtpServer(long handshakeMillis) throws IOException {
+            this.handshakeMillis = handshakeMillis;
+            this.socket = new ServerSocket(0);
+            workers.submit(this::acceptLoop);
+        }
+
+        int port() {
+            return socket.getLocalPort();
+        }
+
+        void reset() {
+            connections.set(0);
+            delivered.set(0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+            workers.shutdownNow();
+        }
+
+        private void acceptLoop() {
+            while (!socket.isClosed()) {
+                try {
+                    Socket client = socket.accept();
+                    connections.incrementAndGet();
+                    workers.submit(() -> serve(client));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket client) {
+            try (client;
+                 BufferedReader in = new BufferedReader(
+                         new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII));
+                 Writer out = new OutputStreamWriter(client.getOutputStream(), StandardCharsets.US_ASCII)) {
+                Thread.sleep(handshakeMillis);
+                reply(out, "220 fake ESMTP");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                    switch (command) {
+                        case "EHLO", "HELO" -> reply(out, "250 fake");
+                        case "DATA" -> {
+                            reply(out, "354 end with .");
+                            while ((line = in.readLine()) != null && !line.equals(".")) {
+                                // message body is discarded
+                            }
+                            delivered.incrementAndGet();
+                            reply(out, "250 queued");
+                        }
+                        case "QUIT" -> {
+                            reply(out, "221 bye");
+                            return;
+                        }
+                        default -> reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException | InterruptedException e) {
+                // client went away or the server is shutting down
+            }
+        }
+
+        private static void reply(Writer out, String line) throws IOException {
+            out.write(line + "\r\n");
+            out.flush();
+        }
+    }
+}
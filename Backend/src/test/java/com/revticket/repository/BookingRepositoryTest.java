@@ -0,0 +1,96 @@
+package com.revticket.repository;
+
+import com.revticket.dto.BookingRow;
+import com.revticket.entity.Booking;
+import com.revticket.entity.Movie;
+import com.revticket.entity.Showtime;
+import com.revticket.entity.Theater;
+import com.revticket.entity.User;
+import com.revticket.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listing rows must show the same screen and price as the responses built from the
+ * entity: the booking's snapshot first, then the live showtime, then "Screen".
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookingRepositoryTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void rowsPreferTheBookingSnapshot() {
+        Showtime showtime = showtime("");
+        Booking booking = booking(showtime);
+        booking.setScreenName("Audi 1");
+        booking.setTicketPriceSnapshot(150.0);
+        String id = bookingRepository.save(booking).getId();
+        showtime.setTicketPrice(300.0);
+        showtimeRepository.save(showtime);
+
+        BookingRow row = bookingRepository.findRowById(id).orElseThrow();
+
+        assertThat(row.screen()).isEqualTo("Audi 1");
+        assertThat(row.ticketPrice()).isEqualTo(150.0);
+    }
+
+    @Test
+    void rowsWithoutSnapshotFallBackToTheShowtime() {
+        String blankScreen = bookingRepository.save(booking(showtime(""))).getId();
+        String unknownScreen = bookingRepository.save(booking(showtime("screen-9"))).getId();
+
+        BookingRow blank = bookingRepository.findRowById(blankScreen).orElseThrow();
+        assertThat(blank.screen()).isEqualTo("Screen");
+        assertThat(blank.ticketPrice()).isEqualTo(200.0);
+        assertThat(bookingRepository.findRowById(unknownScreen).orElseThrow().screen()).isEqualTo("screen-9");
+    }
+
+    private Showtime showtime(String screen) {
+        Movie movie = movieRepository.save(TestData.movie("Snapshot"));
+        Theater theater = theaterRepository.save(TestData.theater("Snapshot Hall"));
+        return showtimeRepository.save(TestData.showtime(movie, theater, screen, LocalDateTime.now().plusDays(1), 10));
+    }
+
+    private Booking booking(Showtime showtime) {
+        User user = new User();
+        user.setEmail(showtime.getId() + "@example.com");
+        user.setName("Viewer");
+        user.setPassword("secret");
+        user.setRole(User.Role.USER);
+
+        Booking booking = new Booking();
+        booking.setUser(userRepository.save(user));
+        booking.setShowtime(showtime);
+        booking.setSeats(List.of("seat-1"));
+        booking.setTotalAmount(200.0);
+        booking.setCustomerName("Viewer");
+        booking.setCustomerEmail("viewer@example.com");
+        booking.setCustomerPhone("9000000000");
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        return booking;
+    }
+}
@@ -0,0 +1,75 @@
+package com.revticket.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTest {
+
+    @Test
+    void findsOverlappingIntervals() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert("a", 0, 10);
+        tree.insert("b", 10, 20);
+        tree.insert("c", 5, 15);
+
+        assertThat(tree.overlapping(9, 11)).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(tree.overlapping(10, 12)).containsExactlyInAnyOrder("b", "c");
+        assertThat(tree.overlapping(20, 30)).isEmpty();
+    }
+
+    @Test
+    void insertingTheSameIdTwiceKeepsOneCopy() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert("show", 100, 200);
+        tree.insert("show", 100, 200);
+
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(tree.remove("show", 100)).isTrue();
+        assertThat(tree.overlapping(0, 1000)).isEmpty();
+    }
+
+    @Test
+    void reinsertingAnIdMovesItsInterval() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert("show", 100, 200);
+        tree.insert("show", 500, 600);
+
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(tree.overlapping(150, 160)).isEmpty();
+        assertThat(tree.overlapping(550, 560)).containsExactly("show");
+        assertThat(tree.remove("show", 100)).isFalse();
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomInsertsAndRemoves() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<long[]> intervals = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long start = random.nextInt(100_000);
+            long end = start + 1 + random.nextInt(500);
+            tree.insert("s" + i, start, end);
+            intervals.add(new long[]{start, end});
+        }
+        for (int i = 0; i < 2000; i += 3) {
+            assertThat(tree.remove("s" + i, intervals.get(i)[0])).isTrue();
+        }
+
+        for (int q = 0; q < 200; q++) {
+            long start = random.nextInt(100_000);
+            long end = start + 1 + random.nextInt(1000);
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < intervals.size(); i++) {
+                if (i % 3 != 0 && intervals.get(i)[0] < end && intervals.get(i)[1] > start) {
+                    expected.add("s" + i);
+                }
+            }
+            assertThat(tree.overlapping(start, end)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.revticket.scheduling;
+
+import com.revticket.cache.InMemoryCacheInvalidationBus;
+import com.revticket.dto.BulkShowtimeRequest;
+import com.revticket.dto.ShowtimeRequest;
+import com.revticket.entity.Movie;
+import com.revticket.entity.Showtime;
+import com.revticket.entity.Theater;
+import com.revticket.repository.MovieRepository;
+import com.revticket.repository.ShowtimeRepository;
+import com.revticket.repository.TheaterRepository;
+import com.revticket.seating.ScreenLayout;
+import com.revticket.seating.ScreenLayoutCache;
+import com.revticket.seating.SeatBatchWriter;
+import com.revticket.seating.SeatInventoryService;
+import com.revticket.seating.ShowtimeLockManager;
+import com.revticket.service.SeatService;
+import com.revticket.service.ShowtimeService;
+import com.revticket.support.TestData;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Races many single and bulk creates for the same screens and checks that the screen
+ * locks let no two showtimes land in the same slot, and that a showtime scheduled on
+ * one instance is seen by another instance's conflict checks.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ShowtimeService.class, ScreenScheduleIndex.class, ShowtimeLockManager.class,
+        InMemoryCacheInvalidationBus.class, ShowtimeSchedulingConcurrencyTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ShowtimeSchedulingConcurrencyTest {
+
+    private static final int THREADS = 48;
+
+    private static final LocalDate DAY = LocalDate.of(2030, 3, 1);
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private ScreenScheduleIndex screenScheduleIndex;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @MockBean
+    private SeatService seatService;
+
+    @MockBean
+    private SeatInventoryService seatInventoryService;
+
+    @MockBean
+    private ScreenLayoutCache screenLayoutCache;
+
+    @MockBean
+    private SeatBatchWriter seatBatchWriter;
+
+    private Movie movie;
+    private Theater theater;
+
+    @BeforeEach
+    void setUp() {
+        showtimeRepository.deleteAll();
+        screenScheduleIndex.invalidateAll();
+        movie = movieRepository.save(TestData.movie("Schedule"));
+        theater = theaterRepository.save(TestData.theater("Schedule Hall"));
+        when(screenLayoutCache.getLayout(anyString()))
+                .thenAnswer(call -> ScreenLayout.defaultLayout(call.getArgument(0), 1));
+    }
+
+    @Test
+    void concurrentCreatesForOneSlotScheduleItOnce() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        race(i -> {
+            ShowtimeRequest request = new ShowtimeRequest();
+            request.setMovieId(movie.getId());
+            request.setTheaterId(theater.getId());
+            request.setScreen("screen-1");
+            // starts within the same two hours, so every pair overlaps
+            request.setShowDateTime(DAY.atTime(18, 0).plusMinutes(i));
+            request.setTicketPrice(200.0);
+            request.setTotalSeats(100);
+            showtimeService.createShowtime(request);
+            created.incrementAndGet();
+            return null;
+        });
+
+        assertThat(created.get()).isEqualTo(1);
+        assertThat(showtimeRepository.findByScreen("screen-1")).hasSize(1);
+    }
+
+    @Test
+    void overlappingBulkCreatesNeverDoubleBookAScreen() throws Exception {
+        List<String> screens = List.of("screen-1", "screen-2", "screen-3", "screen-4");
+        race(i -> {
+            Random random = new Random(i);
+            List<String> picked = new ArrayList<>(screens);
+            Collections.shuffle(picked, random);
+
+            BulkShowtimeRequest request = new BulkShowtimeRequest();
+            request.setMovieId(movie.getId());
+            request.setTheaterId(theater.getId());
+            request.setScreens(picked.subList(0, 2));
+            request.setStartDate(DAY);
+            request.setEndDate(DAY.plusDays(1));
+            request.setTimeSlots(List.of(LocalTime.of(10, 0), LocalTime.of(18, 0)));
+            request.setTicketPrice(200.0);
+            showtimeService.createShowtimesBulk(request);
+            return null;
+        });
+
+        List<Showtime> scheduled = showtimeRepository.findAll();
+        assertThat(scheduled).isNotEmpty();
+        Map<String, Long> perSlot = scheduled.stream()
+                .collect(Collectors.groupingBy(show -> show.getScreen() + "@" + show.getShowDateTime(),
+                        Collectors.counting()));
+        assertThat(perSlot.values()).allMatch(count -> count == 1);
+    }
+
+    @Test
+    void showtimesScheduledOnAnotherInstanceAreSeen() {
+        // A second instance: its own trees and node id, sharing the bus and the database
+        ScreenScheduleIndex otherInstance = beanFactory.createBean(ScreenScheduleIndex.class);
+        ScheduleSlot slot = new ScheduleSlot("screen-1", DAY.atTime(18, 30), 120, null);
+        assertThat(otherInstance.findConflicts(slot)).isEmpty();
+
+        ShowtimeRequest request = new ShowtimeRequest();
+        request.setMovieId(movie.getId());
+        request.setTheaterId(theater.getId());
+        request.setScreen("screen-1");
+        request.setShowDateTime(DAY.atTime(18, 0));
+        request.setTicketPrice(200.0);
+        request.setTotalSeats(100);
+        String created = showtimeService.createShowtime(request).getId();
+
+        assertThat(otherInstance.findConflicts(slot)).containsExactly(created);
+    }
+
+    private void race(Function<Integer, Void> attempt) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < THREADS; i++) {
+            int attemptNo = i;
+            pool.submit(() -> {
+                start.await();
+                try {
+                    attempt.apply(attemptNo);
+                } catch (RuntimeException e) {
+                    // conflicts and lock timeouts are expected losers
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+    }
+}
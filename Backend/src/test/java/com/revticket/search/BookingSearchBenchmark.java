@@ -0,0 +1,181 @@
+package com.revticket.search;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Times admin booking searches against the ngram FULLTEXT index and against the
+ * substring scan it replaces, on {@code benchmark.search.rows} synthetic bookings
+ * (default 1,000,000) in a scratch table. Needs MySQL 8, which the in-memory test
+ * database cannot stand in for, so it is skipped unless a URL is given:
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=BookingSearchBenchmark \
+ *     -Dbenchmark.mysql.url=jdbc:mysql://localhost:3306/revticket_bench?rewriteBatchedStatements=true \
+ *     -Dbenchmark.mysql.user=root -Dbenchmark.mysql.password=...
+ * </pre>
+ */
+@Tag("benchmark")
+class BookingSearchBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingSearchBenchmark.class);
+
+    private static final String TABLE = "bookings_search_bench";
+    private static final int ROWS = Integer.getInteger("benchmark.search.rows", 1_000_000);
+    private static final int REPEATS = 50;
+    private static final long TARGET_P95_MILLIS = 100;
+
+    private static final List<String> FIRST_NAMES = List.of("Aarav", "Vivaan", "Aditya", "Priya", "Ananya",
+            "Ishaan", "Kavya", "Rohan", "Meera", "Arjun", "Diya", "Karthik", "Sneha", "Rahul", "Pooja");
+    private static final List<String> LAST_NAMES = List.of("Sharma", "Verma", "Iyer", "Nair", "Reddy",
+            "Gupta", "Mehta", "Kulkarni", "Menon", "Patel", "Rao", "Joshi", "Chopra", "Das", "Bose");
+
+    // Name fragments, a surname, an email fragment and a phone fragment, as admins type them
+    private static final List<String> TERMS = List.of("shar", "Kulkarni", "priya.me", "98450", "ananya iy");
+
+    // Same predicates and page shape as the admin report
+    private static final String FULLTEXT_QUERY = "SELECT id FROM " + TABLE +
+            " WHERE MATCH(customer_name, customer_email, customer_phone, ticket_number) AGAINST (? IN BOOLEAN MODE)" +
+            " ORDER BY booking_date DESC LIMIT 20";
+    private static final String LIKE_QUERY = "SELECT id FROM " + TABLE +
+            " WHERE LOWER(customer_name) LIKE ? OR LOWER(customer_email) LIKE ? OR LOWER(id) LIKE ?" +
+            " ORDER BY booking_date DESC LIMIT 20";
+
+    @Test
+    void fulltextSearchAnswersWithinTarget() throws SQLException {
+        String url = System.getProperty("benchmark.mysql.url");
+        assumeTrue(url != null && !url.isBlank(), "benchmark.mysql.url not set");
+
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getProperty("benchmark.mysql.user"), System.getProperty("benchmark.mysql.password"))) {
+            try {
+                createTable(connection);
+                long seeded = System.currentTimeMillis();
+                seed(connection);
+                logger.info("Seeded {} bookings in {} ms", ROWS, System.currentTimeMillis() - seeded);
+
+                long[] like = time(connection, LIKE_QUERY, term -> {
+                    String pattern = "%" + term.toLowerCase() + "%";
+                    return new String[] { pattern, pattern, pattern };
+                });
+
+                long indexed = System.currentTimeMillis();
+                buildIndex(connection);
+                logger.info("Built {} in {} ms", BookingSearchIndex.INDEX_NAME, System.currentTimeMillis() - indexed);
+
+                long[] fulltext = time(connection, FULLTEXT_QUERY,
+                        term -> new String[] { BookingSearchTerm.parse(term, true).value() });
+
+                logger.info("{} bookings, substring scan: p50 {} ms, p95 {} ms", ROWS, percentile(like, 50),
+                        percentile(like, 95));
+                logger.info("{} bookings, fulltext: p50 {} ms, p95 {} ms", ROWS, percentile(fulltext, 50),
+                        percentile(fulltext, 95));
+
+                assertThat(percentile(fulltext, 95)).isLessThan(TARGET_P95_MILLIS);
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP TABLE IF EXISTS " + TABLE);
+                }
+            }
+        }
+    }
+
+    private interface Binder {
+        String[] bind(String term);
+    }
+
+    private static void createTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " (id VARCHAR(36) PRIMARY KEY, " +
+                    "customer_name VARCHAR(255) NOT NULL, customer_email VARCHAR(255) NOT NULL, " +
+                    "customer_phone VARCHAR(255) NOT NULL, ticket_number VARCHAR(255), " +
+                    "booking_date DATETIME(6) NOT NULL, INDEX idx_booking_date (booking_date))");
+        }
+    }
+
+    private static void seed(Connection connection) throws SQLException {
+        Random random = new Random(7);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + TABLE +
+                " (id, customer_name, customer_email, customer_phone, ticket_number, booking_date) " +
+                "VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                String first = FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size()));
+                String last = LAST_NAMES.get(random.nextInt(LAST_NAMES.size()));
+                insert.setString(1, UUID.randomUUID().toString());
+                insert.setString(2, first + " " + last);
+                insert.setString(3, (first + "." + last + i).toLowerCase() + "@example.com");
+                insert.setString(4, String.valueOf(9_000_000_000L + random.nextInt(1_000_000_000)));
+                insert.setString(5, String.format("TKT-%08X", i));
+                insert.setTimestamp(6, Timestamp.valueOf(start.plusSeconds(random.nextInt(365 * 86_400))));
+                insert.addBatch();
+                if (i % 5000 == 4999) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    // The statements BookingSearchIndex runs, against the scratch table
+    private static void buildIndex(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION innodb_ft_enable_stopword = OFF");
+            statement.execute("ALTER TABLE " + TABLE + " ADD FULLTEXT INDEX " + BookingSearchIndex.INDEX_NAME +
+                    " (customer_name, customer_email, customer_phone, ticket_number) WITH PARSER ngram");
+            statement.execute("SET SESSION innodb_ft_enable_stopword = ON");
+        }
+    }
+
+    private static long[] time(Connection connection, String sql, Binder binder) throws SQLException {
+        long[] samples = new long[REPEATS * TERMS.size()];
+        int n = 0;
+        try (PreparedStatement query = connection.prepareStatement(sql)) {
+            for (int repeat = 0; repeat < REPEATS; repeat++) {
+                for (String term : TERMS) {
+                    String[] args = binder.bind(term);
+                    for (int i = 0; i < args.length; i++) {
+                        query.setString(i + 1, args[i]);
+                    }
+                    long started = System.nanoTime();
+                    try (ResultSet rows = query.executeQuery()) {
+                        while (rows.next()) {
+                            rows.getString(1);
+                        }
+                    }
+                    samples[n++] = (System.nanoTime() - started) / 1_000_000;
+                }
+            }
+        }
+        return samples;
+    }
+
+    private static long percentile(long[] samples, int percentile) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+}
@@ -0,0 +1,28 @@
+package com.revticket.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingSearchTermTest {
+
+    @Test
+    void completeIdsAndTicketNumbersAreMatchedExactly() {
+        assertThat(BookingSearchTerm.parse("3F2504E0-4F89-11D3-9A0C-0305E82C3301", true))
+                .isEqualTo(new BookingSearchTerm(BookingSearchTerm.Mode.ID, "3f2504e0-4f89-11d3-9a0c-0305e82c3301"));
+        assertThat(BookingSearchTerm.parse("tkt1a2b3c4d", true))
+                .isEqualTo(new BookingSearchTerm(BookingSearchTerm.Mode.TICKET, "TKT1A2B3C4D"));
+        assertThat(BookingSearchTerm.parse("TKT-1718000000000", true))
+                .isEqualTo(new BookingSearchTerm(BookingSearchTerm.Mode.TICKET, "TKT-1718000000000"));
+    }
+
+    @Test
+    void partlyTypedEmailsAndTicketNumbersAreMatchedAsSubstrings() {
+        assertThat(BookingSearchTerm.parse("john@gmail.c", true))
+                .isEqualTo(new BookingSearchTerm(BookingSearchTerm.Mode.FULLTEXT, "\"john@gmail.c\""));
+        assertThat(BookingSearchTerm.parse("TKT1A2B3C", true))
+                .isEqualTo(new BookingSearchTerm(BookingSearchTerm.Mode.FULLTEXT, "\"TKT1A2B3C\""));
+        assertThat(BookingSearchTerm.parse("John@Gmail.com", false))
+                .isEqualTo(new BookingSearchTerm(BookingSearchTerm.Mode.LIKE, "john@gmail.com"));
+    }
+}
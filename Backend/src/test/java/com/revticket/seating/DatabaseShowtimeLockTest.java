@@ -0,0 +1,83 @@
+package com.revticket.seating;
+
+import com.revticket.entity.Screen;
+import com.revticket.repository.ScreenRepository;
+import com.revticket.repository.TheaterRepository;
+import com.revticket.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Screen keys must take a real row lock, so that scheduling on one screen is
+ * serialised across replicas and not only inside one JVM.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "app.booking.lock.distributed=database")
+@Import(DatabaseShowtimeLock.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatabaseShowtimeLockTest {
+
+    private static final long HOLD_MILLIS = 500;
+
+    @Autowired
+    private DatabaseShowtimeLock databaseShowtimeLock;
+
+    @Autowired
+    private ScreenRepository screenRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void screenLockBlocksAnotherTransactionUntilCommit() throws Exception {
+        Screen screen = new Screen();
+        screen.setName("Screen 1");
+        screen.setTotalSeats(100);
+        screen.setTheater(theaterRepository.save(TestData.theater("Locked Hall")));
+        String screenId = screenRepository.save(screen).getId();
+
+        TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+        CountDownLatch locked = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transactions.executeWithoutResult(status -> {
+            databaseShowtimeLock.acquireScreen(screenId);
+            locked.countDown();
+            sleep(HOLD_MILLIS);
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        long started = System.nanoTime();
+        transactions.executeWithoutResult(status -> databaseShowtimeLock.acquireScreen(screenId));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        holder.get(10, TimeUnit.SECONDS);
+
+        assertThat(waitedMillis).isGreaterThanOrEqualTo(HOLD_MILLIS / 2);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
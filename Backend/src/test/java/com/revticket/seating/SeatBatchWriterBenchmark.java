@@ -0,0 +1,110 @@
+package com.revticket.seating;
+
+import com.revticket.entity.Movie;
+import com.revticket.entity.Seat;
+import com.revticket.entity.Showtime;
+import com.revticket.entity.Theater;
+import com.revticket.repository.MovieRepository;
+import com.revticket.repository.SeatRepository;
+import com.revticket.repository.ShowtimeRepository;
+import com.revticket.repository.TheaterRepository;
+import com.revticket.support.TestData;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Materializes the seats of {@code benchmark.showtimes} showtimes (default 1,000) of
+ * {@code benchmark.seats} seats each (default 300), once through per-entity
+ * {@code saveAll} as seat generation used to, and once through {@link SeatBatchWriter}.
+ * Each showtime is written in its own transaction, as showtime creation does. Runs on
+ * the in-memory test database with {@code mvn test -Pbenchmark}; against MySQL the
+ * batch path also benefits from {@code rewriteBatchedStatements}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SeatBatchWriter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SeatBatchWriterBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatBatchWriterBenchmark.class);
+
+    private static final int SHOWTIMES = Integer.getInteger("benchmark.showtimes", 1000);
+    private static final int SEATS = Integer.getInteger("benchmark.seats", 300);
+
+    @Autowired
+    private SeatBatchWriter seatBatchWriter;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void batchWriterMaterializesSeatsFasterThanSaveAll() {
+        Movie movie = movieRepository.save(TestData.movie("Batch"));
+        Theater theater = theaterRepository.save(TestData.theater("Batch Hall"));
+
+        long saveAllMillis = time(createShowtimes(movie, theater, "entity"),
+                seats -> seatRepository.saveAll(seats));
+        long batchMillis = time(createShowtimes(movie, theater, "batch"),
+                seats -> seatBatchWriter.insertSeats(seats));
+
+        long rows = (long) SHOWTIMES * SEATS;
+        logger.info("{} showtimes x {} seats: saveAll {} ms ({} rows/s), SeatBatchWriter {} ms ({} rows/s), {}x",
+                SHOWTIMES, SEATS, saveAllMillis, rows * 1000 / Math.max(saveAllMillis, 1),
+                batchMillis, rows * 1000 / Math.max(batchMillis, 1),
+                String.format("%.1f", (double) saveAllMillis / Math.max(batchMillis, 1)));
+
+        assertThat(seatRepository.count()).isEqualTo(2 * rows);
+        assertThat(batchMillis).isLessThan(saveAllMillis);
+    }
+
+    private List<Showtime> createShowtimes(Movie movie, Theater theater, String screen) {
+        List<Showtime> showtimes = new ArrayList<>(SHOWTIMES);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < SHOWTIMES; i++) {
+            showtimes.add(TestData.showtime(movie, theater, screen, start.plusHours(i), SEATS));
+        }
+        return showtimeRepository.saveAll(showtimes);
+    }
+
+    private long time(List<Showtime> showtimes, Consumer<List<Seat>> writer) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long started = System.nanoTime();
+        for (Showtime showtime : showtimes) {
+            List<Seat> seats = TestData.seats(showtime, SEATS);
+            transaction.executeWithoutResult(status -> writer.accept(seats));
+        }
+        return (System.nanoTime() - started) / 1_000_000;
+    }
+}
@@ -0,0 +1,81 @@
+package com.revticket.seating;
+
+import com.revticket.cache.CacheInvalidationBus;
+import com.revticket.entity.Movie;
+import com.revticket.entity.Seat;
+import com.revticket.entity.Showtime;
+import com.revticket.entity.Theater;
+import com.revticket.repository.MovieRepository;
+import com.revticket.repository.SeatRepository;
+import com.revticket.repository.ShowtimeRepository;
+import com.revticket.repository.TheaterRepository;
+import com.revticket.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+/**
+ * A committed seat change must reach the local inventory and its subscribers even
+ * when the invalidation bus is down.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SeatInventoryService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SeatInventoryServiceTest {
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @MockBean
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @MockBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Test
+    void changesApplyLocallyWhenTheBusFails() {
+        Movie movie = movieRepository.save(TestData.movie("Offline"));
+        Theater theater = theaterRepository.save(TestData.theater("Offline Hall"));
+        Showtime showtime = showtimeRepository.save(TestData.showtime(movie, theater, "screen-1",
+                LocalDateTime.now().plusDays(1), 10));
+        String seatId = seatRepository.saveAll(TestData.seats(showtime, 10)).get(0).getId();
+
+        SeatInventory inventory = seatInventoryService.getInventory(showtime.getId());
+        doThrow(new RuntimeException("mongo down")).when(cacheInvalidationBus).publish(any());
+
+        seatInventoryService.afterCommit(showtime.getId(), seats -> seats.book(List.of(seatId)));
+
+        assertThat(inventory.isBooked(inventory.indexOf(seatId))).isTrue();
+        verify(messagingTemplate).convertAndSend(eq("/topic/showtimes/" + showtime.getId() + "/seats"), any(SeatDelta.class));
+    }
+}
@@ -0,0 +1,69 @@
+package com.revticket.seating;
+
+import com.revticket.dto.SeatIdMap;
+import com.revticket.entity.Seat;
+import com.revticket.entity.Showtime;
+import com.revticket.support.TestData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatInventoryTest {
+
+    @Test
+    void showtimesStampedFromOneLayoutShareItsVersion() {
+        SeatInventory first = inventory("show-1", 40);
+        SeatInventory second = inventory("show-2", 40);
+
+        assertThat(first.getLayoutVersion()).isEqualTo(second.getLayoutVersion());
+        assertThat(first.layout()).isEqualTo(second.layout());
+
+        SeatIdMap firstIds = first.seatIdMap();
+        SeatIdMap secondIds = second.seatIdMap();
+        assertThat(firstIds.getLayoutVersion()).isEqualTo(first.getLayoutVersion());
+        assertThat(firstIds.getSeatIdsVersion()).isNotEqualTo(secondIds.getSeatIdsVersion());
+        assertThat(firstIds.getSeatIds()).hasSize(40).doesNotContainAnyElementsOf(secondIds.getSeatIds());
+    }
+
+    @Test
+    void layoutVersionChangesWithTheLayout() {
+        SeatInventory smaller = inventory("show-1", 30);
+        SeatInventory larger = inventory("show-2", 40);
+
+        assertThat(smaller.getLayoutVersion()).isNotEqualTo(larger.getLayoutVersion());
+    }
+
+    @Test
+    void seatOrderDoesNotDependOnLoadOrder() {
+        Showtime showtime = new Showtime();
+        showtime.setId("show-1");
+        List<Seat> seats = TestData.seats(showtime, 40);
+        seats.forEach(seat -> seat.setId(UUID.randomUUID().toString()));
+        List<Seat> shuffled = new ArrayList<>(seats);
+        Collections.shuffle(shuffled, new Random(7));
+
+        SeatInventory loaded = SeatInventory.fromSeats("show-1", "screen-1", 1, seats);
+        SeatInventory reloaded = SeatInventory.fromSeats("show-1", "screen-1", 1, shuffled);
+
+        assertThat(reloaded.getLayoutVersion()).isEqualTo(loaded.getLayoutVersion());
+        assertThat(reloaded.seatIdMap().getSeatIds()).isEqualTo(loaded.seatIdMap().getSeatIds());
+        assertThat(reloaded.labelOf(0)).isEqualTo("A1");
+    }
+
+    static SeatInventory inventory(String showtimeId, int size) {
+        Showtime showtime = new Showtime();
+        showtime.setId(showtimeId);
+        List<Seat> seats = TestData.seats(showtime, size);
+        seats.forEach(seat -> seat.setId(UUID.randomUUID().toString()));
+        // Loaded in primary-key order, as an unordered query returns them
+        seats.sort(Comparator.comparing(Seat::getId));
+        return SeatInventory.fromSeats(showtimeId, "screen-1", 1, seats);
+    }
+}
@@ -0,0 +1,95 @@
+package com.revticket.seating;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares what a client downloads to render the seat maps of every showtime on one
+ * screen: the full seat list per showtime, against one shared layout descriptor plus
+ * a seat id map and packed states per showtime. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SeatMapPayloadBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatMapPayloadBenchmark.class);
+
+    private static final int SEATS = 400;
+    private static final int SHOWTIMES = 20;
+    private static final int ITERATIONS = 2000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void sharedDescriptorShrinksSeatMapPayloads() throws Exception {
+        List<SeatInventory> inventories = new ArrayList<>();
+        for (int i = 0; i < SHOWTIMES; i++) {
+            inventories.add(SeatInventoryTest.inventory("show-" + i, SEATS));
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        long fullBytes = 0;
+        long splitBytes = 0;
+        String descriptorVersion = null;
+        for (SeatInventory inventory : inventories) {
+            fullBytes += json(inventory.toSeats(now)).length;
+            // The descriptor is downloaded once; later showtimes revalidate it with a 304
+            if (!inventory.getLayoutVersion().equals(descriptorVersion)) {
+                splitBytes += json(inventory.layout()).length;
+                descriptorVersion = inventory.getLayoutVersion();
+            }
+            splitBytes += json(inventory.seatIdMap()).length;
+            splitBytes += inventory.packedStates(now).states().length;
+        }
+
+        SeatInventory inventory = inventories.get(0);
+        double fullMicros = medianMicros(() -> json(inventory.toSeats(now)));
+        double splitMicros = medianMicros(() -> {
+            json(inventory.seatIdMap());
+            return inventory.packedStates(now).states();
+        });
+
+        logger.info("{} showtimes x {} seats: full seat lists {} bytes, descriptor + ids + packed {} bytes ({}%)",
+                SHOWTIMES, SEATS, fullBytes, splitBytes, splitBytes * 100 / fullBytes);
+        logger.info("Per showtime render: full seat list {} us, ids + packed {} us (median of {})",
+                String.format("%.1f", fullMicros), String.format("%.1f", splitMicros), ITERATIONS);
+
+        assertThat(splitBytes).isLessThan(fullBytes);
+        assertThat(splitMicros).isLessThan(fullMicros);
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double medianMicros(Supplier<Object> task) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.get();
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            task.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2] / 1000.0;
+    }
+}
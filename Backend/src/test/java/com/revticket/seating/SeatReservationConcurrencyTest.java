@@ -0,0 +1,169 @@
+package com.revticket.seating;
+
+import com.revticket.entity.Movie;
+import com.revticket.entity.Seat;
+import com.revticket.entity.Showtime;
+import com.revticket.entity.Theater;
+import com.revticket.repository.MovieRepository;
+import com.revticket.repository.SeatRepository;
+import com.revticket.repository.ShowtimeRepository;
+import com.revticket.repository.TheaterRepository;
+import com.revticket.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers the guarded claim UPDATE from 200 threads at once and checks that no seat
+ * ever ends up sold twice, and that releases only free seats that are still booked.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SeatReservationService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SeatReservationConcurrencyTest {
+
+    private static final int THREADS = 200;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @MockBean
+    private SeatInventoryService seatInventoryService;
+
+    @MockBean
+    private SeatHoldExpiryService seatHoldExpiryService;
+
+    private Showtime showtime;
+    private List<String> seatIds;
+
+    @BeforeEach
+    void setUp() {
+        Movie movie = movieRepository.save(TestData.movie("Stress"));
+        Theater theater = theaterRepository.save(TestData.theater("Stress Hall"));
+        showtime = showtimeRepository.save(TestData.showtime(movie, theater, "screen-1",
+                LocalDateTime.now().plusDays(1), 40));
+        seatIds = seatRepository.saveAll(TestData.seats(showtime, 40)).stream().map(Seat::getId).toList();
+    }
+
+    @Test
+    void onlyOneOfManyIdenticalClaimsWins() throws Exception {
+        List<String> wanted = seatIds.subList(0, 4);
+        AtomicInteger winners = new AtomicInteger();
+
+        race(thread -> {
+            seatReservationService.claimSeats(showtime.getId(), wanted, "session-" + thread);
+            winners.incrementAndGet();
+        });
+
+        assertThat(winners.get()).isEqualTo(1);
+        assertThat(bookedSeatIds()).containsExactlyInAnyOrderElementsOf(wanted);
+    }
+
+    @Test
+    void overlappingClaimsNeverDoubleSellASeat() throws Exception {
+        ConcurrentLinkedQueue<List<String>> won = new ConcurrentLinkedQueue<>();
+
+        race(thread -> {
+            List<String> shuffled = new ArrayList<>(seatIds);
+            Collections.shuffle(shuffled, new Random(thread));
+            List<String> wanted = shuffled.subList(0, 3);
+            seatReservationService.claimSeats(showtime.getId(), wanted, "session-" + thread);
+            won.add(wanted);
+        });
+
+        Set<String> sold = new HashSet<>();
+        for (List<String> claim : won) {
+            for (String seatId : claim) {
+                assertThat(sold.add(seatId)).as("seat %s sold twice", seatId).isTrue();
+            }
+        }
+        assertThat(won).isNotEmpty();
+        assertThat(bookedSeatIds()).containsExactlyInAnyOrderElementsOf(sold);
+    }
+
+    @Test
+    void releasingSkipsSeatsThatAreNoLongerBooked() {
+        List<String> wanted = seatIds.subList(0, 2);
+        assertThat(seatReservationService.claimSeats(showtime.getId(), wanted, null)).isEqualTo(2);
+        assertThat(seatReservationService.releaseBookedSeats(showtime.getId(), wanted.subList(0, 1))).isEqualTo(1);
+
+        List<String> withRegenerated = new ArrayList<>(wanted);
+        withRegenerated.add("seat-from-before-reconfiguration");
+        assertThat(seatReservationService.releaseBookedSeats(showtime.getId(), withRegenerated)).isEqualTo(1);
+        assertThat(bookedSeatIds()).isEmpty();
+    }
+
+    private Set<String> bookedSeatIds() {
+        Set<String> booked = new HashSet<>();
+        for (Seat seat : seatRepository.findByShowtimeId(showtime.getId())) {
+            if (seat.getIsBooked()) {
+                booked.add(seat.getId());
+            }
+        }
+        return booked;
+    }
+
+    private void race(Claim claim) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            int thread = i;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    claim.run(thread);
+                } catch (Exception e) {
+                    // Losing claims fail and roll back
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(2, TimeUnit.MINUTES)).isTrue();
+        pool.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface Claim {
+        void run(int thread) throws Exception;
+    }
+}
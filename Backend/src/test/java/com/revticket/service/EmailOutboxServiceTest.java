@@ -0,0 +1,64 @@
+package com.revticket.service;
+
+import com.revticket.entity.EmailOutbox;
+import com.revticket.mail.RenderedEmail;
+import com.revticket.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EmailOutboxService.class)
+@TestPropertySource(properties = "app.email.outbox.max-attempts=3")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxServiceTest {
+
+    // Every SENDING claim counts as expired
+    private static final Duration EXPIRED = Duration.ofSeconds(-1);
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Test
+    void overlongSubjectIsTruncatedInsteadOfFailingTheCaller() {
+        emailOutboxRepository.deleteAll();
+        emailOutboxService.enqueue("guest@example.com", new RenderedEmail("x".repeat(400), "body", null));
+
+        List<EmailOutbox> queued = emailOutboxRepository.findAll();
+        assertThat(queued).singleElement()
+                .satisfies(email -> assertThat(email.getSubject()).hasSize(255));
+    }
+
+    @Test
+    void messageWhoseClaimsKeepExpiringEndsUpDead() {
+        emailOutboxRepository.deleteAll();
+        emailOutboxService.enqueue("guest@example.com", new RenderedEmail("Ticket", "body", null));
+
+        // Each claim is abandoned as if the dispatcher died mid-send
+        assertThat(emailOutboxService.claimBatch(10, EXPIRED)).hasSize(1);
+        assertThat(emailOutboxService.claimBatch(10, EXPIRED)).hasSize(1);
+        assertThat(emailOutboxService.claimBatch(10, EXPIRED)).hasSize(1);
+        assertThat(emailOutboxService.claimBatch(10, EXPIRED)).isEmpty();
+
+        EmailOutbox email = emailOutboxRepository.findAll().get(0);
+        assertThat(email.getStatus()).isEqualTo(EmailOutbox.Status.DEAD);
+        assertThat(email.getAttempts()).isEqualTo(3);
+        assertThat(email.getLastError()).isNotBlank();
+    }
+}
@@ -0,0 +1,119 @@
+package com.revticket.service;
+
+import com.revticket.entity.Movie;
+import com.revticket.entity.Theater;
+import com.revticket.repository.MovieRepository;
+import com.revticket.repository.ShowtimeRepository;
+import com.revticket.repository.TheaterRepository;
+import com.revticket.scheduling.ScreenScheduleIndex;
+import com.revticket.support.TestData;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Counts the JDBC statements behind the admin movie listing with Hibernate statistics,
+ * so a per-movie query creeping back in fails the build.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({MovieService.class, MovieStatsLoader.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MovieListingQueryCountTest {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieStatsLoader movieStatsLoader;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private MovieRatingService movieRatingService;
+
+    @MockBean
+    private ScreenScheduleIndex screenScheduleIndex;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        showtimeRepository.deleteAll();
+        movieRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void statsCostOneQueryPerMetricWhateverTheBatchSize() {
+        List<String> one = createMovies(1);
+        List<String> many = createMovies(40);
+
+        assertThat(statementsFor(() -> movieStatsLoader.load(one))).isEqualTo(2);
+        assertThat(statementsFor(() -> movieStatsLoader.load(many))).isEqualTo(2);
+        verify(movieRatingService, times(2)).getAverages(anyCollection());
+    }
+
+    @Test
+    void adminListingDoesNotQueryPerMovie() {
+        createMovies(2);
+        long few = statementsFor(() -> movieService.getAllMoviesForAdmin());
+
+        createMovies(40);
+        long many = statementsFor(() -> movieService.getAllMoviesForAdmin());
+
+        assertThat(many).isEqualTo(few);
+    }
+
+    private long statementsFor(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<String> createMovies(int count) {
+        Theater theater = theaterRepository.save(TestData.theater("Counting Hall"));
+        List<Movie> movies = new java.util.ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Movie movie = TestData.movie("Movie " + i);
+            movie.setGenre(List.of("Drama"));
+            movies.add(movie);
+        }
+        List<Movie> saved = movieRepository.saveAll(movies);
+        for (Movie movie : saved) {
+            showtimeRepository.save(TestData.showtime(movie, theater, "screen-1", LocalDateTime.now().plusDays(1), 10));
+        }
+        return saved.stream().map(Movie::getId).toList();
+    }
+}
@@ -0,0 +1,243 @@
+package com.revticket.service;
+
+import com.revticket.dto.RevenueTrendDTO;
+import com.revticket.entity.Booking;
+import com.revticket.entity.Movie;
+import com.revticket.entity.Showtime;
+import com.revticket.entity.Theater;
+import com.revticket.entity.User;
+import com.revticket.repository.BookingRepository;
+import com.revticket.repository.MovieRepository;
+import com.revticket.repository.ShowtimeRepository;
+import com.revticket.repository.TheaterRepository;
+import com.revticket.repository.UserRepository;
+import com.revticket.search.BookingSearchIndex;
+import com.revticket.support.TestData;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the day-bucketed revenue trend computed by a GROUP BY in the database with
+ * the implementation it replaced, which loaded every booking and bucketed them in
+ * Java. Both are measured at {@code benchmark.legacy-bookings} rows (default 100,000).
+ * The table then grows to {@code benchmark.bookings} rows (default 1,000,000) and the
+ * SQL path is measured again. The old path is only repeated at full size with
+ * {@code -Dbenchmark.legacy-full=true}: it also issues one Payment select per booking.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BookingReportService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RevenueTrendBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevenueTrendBenchmark.class);
+
+    private static final int BOOKINGS = Integer.getInteger("benchmark.bookings", 1_000_000);
+    private static final int LEGACY_BOOKINGS = Integer.getInteger("benchmark.legacy-bookings", 100_000);
+    private static final boolean LEGACY_FULL = Boolean.getBoolean("benchmark.legacy-full");
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 12, 31);
+    private static final int SHOWTIMES = 200;
+
+    private static final String INSERT_BOOKING =
+            "INSERT INTO bookings (id, user_id, showtime_id, total_amount, booking_date, status, " +
+            "customer_name, customer_email, customer_phone) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private BookingReportService bookingReportService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private BookingResponseAssembler bookingResponseAssembler;
+
+    @MockBean
+    private BookingSearchIndex bookingSearchIndex;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void groupedTrendBeatsLoadingEveryBooking() {
+        User user = createUser();
+        List<String> showtimeIds = createShowtimes();
+
+        insertBookings(user, showtimeIds, LEGACY_BOOKINGS);
+        Measurement legacy = measure(this::legacyTrend);
+        warmUp();
+        Measurement grouped = measure(() -> bookingReportService.getLiveRevenueTrend(FROM, TO));
+        assertSameTrend(grouped.trend(), legacy.trend());
+        report(LEGACY_BOOKINGS, "loading every booking", legacy);
+        report(LEGACY_BOOKINGS, "GROUP BY day", grouped);
+
+        insertBookings(user, showtimeIds, BOOKINGS - LEGACY_BOOKINGS);
+        warmUp();
+        Measurement groupedFull = measure(() -> bookingReportService.getLiveRevenueTrend(FROM, TO));
+        report(BOOKINGS, "GROUP BY day", groupedFull);
+        assertThat(groupedFull.trend().stream().mapToLong(RevenueTrendDTO::getBookings).sum()).isEqualTo(BOOKINGS);
+        if (LEGACY_FULL) {
+            Measurement legacyFull = measure(this::legacyTrend);
+            assertSameTrend(groupedFull.trend(), legacyFull.trend());
+            report(BOOKINGS, "loading every booking", legacyFull);
+        }
+
+        assertThat(grouped.millis()).isLessThan(legacy.millis());
+        assertThat(grouped.allocatedBytes()).isLessThan(legacy.allocatedBytes());
+    }
+
+    // A different range than the measured one, which H2 would answer from its query cache
+    private void warmUp() {
+        bookingReportService.getLiveRevenueTrend(FROM, FROM.plusDays(30));
+    }
+
+    private record Measurement(List<RevenueTrendDTO> trend, long millis, long allocatedBytes) {
+    }
+
+    private Measurement measure(Supplier<List<RevenueTrendDTO>> trend) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        List<RevenueTrendDTO> result = trend.get();
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        return new Measurement(result, millis, threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+    }
+
+    private static void report(int bookings, String approach, Measurement measurement) {
+        logger.info("{} bookings, {}: {} ms, {} MB allocated", bookings, approach, measurement.millis(),
+                measurement.allocatedBytes() / (1024 * 1024));
+    }
+
+    private static void assertSameTrend(List<RevenueTrendDTO> actual, List<RevenueTrendDTO> expected) {
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < actual.size(); i++) {
+            assertThat(actual.get(i).getDate()).isEqualTo(expected.get(i).getDate());
+            assertThat(actual.get(i).getBookings()).isEqualTo(expected.get(i).getBookings());
+            assertThat(actual.get(i).getRevenue()).isCloseTo(expected.get(i).getRevenue(),
+                    Offset.offset(0.01));
+        }
+    }
+
+    // The implementation getRevenueTrend had before the aggregate queries
+    private List<RevenueTrendDTO> legacyTrend() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> {
+            LocalDateTime start = FROM.atStartOfDay();
+            LocalDateTime end = TO.atTime(LocalTime.MAX);
+
+            List<Booking> bookings = bookingRepository.findAll().stream()
+                    .filter(b -> b.getBookingDate().isAfter(start) && b.getBookingDate().isBefore(end))
+                    .collect(Collectors.toList());
+
+            Map<String, RevenueTrendDTO> trendMap = new LinkedHashMap<>();
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+            for (LocalDate date = FROM; !date.isAfter(TO); date = date.plusDays(1)) {
+                trendMap.put(date.format(formatter), new RevenueTrendDTO(date.format(formatter), 0.0, 0L));
+            }
+            bookings.forEach(booking -> {
+                String dateKey = booking.getBookingDate().toLocalDate().format(formatter);
+                if (trendMap.containsKey(dateKey)) {
+                    RevenueTrendDTO trend = trendMap.get(dateKey);
+                    if (booking.getStatus() == Booking.BookingStatus.CONFIRMED) {
+                        trend.setRevenue(trend.getRevenue() + booking.getTotalAmount());
+                    }
+                    trend.setBookings(trend.getBookings() + 1);
+                }
+            });
+            return new ArrayList<>(trendMap.values());
+        });
+    }
+
+    private User createUser() {
+        User user = new User();
+        user.setEmail("bench@example.com");
+        user.setName("Bench");
+        user.setPassword("secret");
+        user.setRole(User.Role.USER);
+        return userRepository.save(user);
+    }
+
+    private List<String> createShowtimes() {
+        Movie movie = movieRepository.save(TestData.movie("Trend"));
+        Theater theater = theaterRepository.save(TestData.theater("Trend Hall"));
+        List<Showtime> showtimes = new ArrayList<>();
+        for (int i = 0; i < SHOWTIMES; i++) {
+            showtimes.add(TestData.showtime(movie, theater, "screen-1", FROM.atTime(18, 0).plusDays(i), 100));
+        }
+        return showtimeRepository.saveAll(showtimes).stream().map(Showtime::getId).toList();
+    }
+
+    private void insertBookings(User user, List<String> showtimeIds, int count) {
+        int days = (int) (TO.toEpochDay() - FROM.toEpochDay()) + 1;
+        List<Object[]> batch = new ArrayList<>(5000);
+        for (int i = 0; i < count; i++) {
+            // Never exactly midnight, which the old implementation's exclusive bounds would drop
+            LocalDateTime bookedAt = FROM.plusDays(random.nextInt(days)).atStartOfDay()
+                    .plusSeconds(1 + random.nextInt(86_398));
+            String status = random.nextInt(10) == 0 ? "CANCELLED" : "CONFIRMED";
+            batch.add(new Object[] { UUID.randomUUID().toString(), user.getId(),
+                    showtimeIds.get(random.nextInt(showtimeIds.size())), 100.0 + random.nextInt(900),
+                    Timestamp.valueOf(bookedAt), status, "Guest", "guest@example.com", "9999999999" });
+            if (batch.size() == 5000) {
+                jdbcTemplate.batchUpdate(INSERT_BOOKING, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BOOKING, batch);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.revticket.support;
+
+import com.revticket.entity.Movie;
+import com.revticket.entity.Seat;
+import com.revticket.entity.Showtime;
+import com.revticket.entity.Theater;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unsaved entities with every required column filled in.
+ */
+public final class TestData {
+
+    private TestData() {
+    }
+
+    public static Movie movie(String title) {
+        Movie movie = new Movie();
+        movie.setTitle(title);
+        movie.setDuration(120);
+        movie.setReleaseDate(LocalDate.of(2024, 1, 1));
+        movie.setLanguage("English");
+        movie.setIsActive(true);
+        return movie;
+    }
+
+    public static Theater theater(String name) {
+        Theater theater = new Theater();
+        theater.setName(name);
+        theater.setLocation("Pune");
+        theater.setAddress("1 Main Road");
+        theater.setTotalScreens(1);
+        theater.setIsActive(true);
+        return theater;
+    }
+
+    public static Showtime showtime(Movie movie, Theater theater, String screen, LocalDateTime start, int seats) {
+        Showtime showtime = new Showtime();
+        showtime.setMovie(movie);
+        showtime.setTheater(theater);
+        showtime.setScreen(screen);
+        showtime.setShowDateTime(start);
+        showtime.setTicketPrice(200.0);
+        showtime.setTotalSeats(seats);
+        showtime.setAvailableSeats(seats);
+        return showtime;
+    }
+
+    /**
+     * Seats laid out in rows of ten: A1..A10, B1..B10 and so on.
+     */
+    public static List<Seat> seats(Showtime showtime, int count) {
+        List<Seat> seats = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Seat seat = new Seat();
+            seat.setShowtime(showtime);
+            seat.setRow(String.valueOf((char) ('A' + i / 10)));
+            seat.setNumber(i % 10 + 1);
+            seat.setPrice(200.0);
+            seat.setType(Seat.SeatType.REGULAR);
+            seats.add(seat);
+        }
+        return seats;
+    }
+}